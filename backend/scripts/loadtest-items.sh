@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+# Throughput and p99 of GET /api/items at 1k and 5k concurrent clients.
+#
+# Run once per mode against a running backend and compare the two reports:
+#   ./gradlew bootRun                    # platform threads (Java 17)
+#   ./gradlew bootRun -PvirtualThreads   # virtual threads (Java 21)
+#   scripts/loadtest-items.sh platform
+#   scripts/loadtest-items.sh virtual
+#
+# Requires hey (https://github.com/rakyll/hey) and curl. Raise the open-file limit
+# (ulimit -n 20000) before running the 5k level.
+set -euo pipefail
+
+MODE="${1:-platform}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+DURATION="${DURATION:-30s}"
+LEVELS="${LEVELS:-1000 5000}"
+OUT_DIR="${OUT_DIR:-build/loadtest}"
+
+mkdir -p "$OUT_DIR"
+
+TOKEN=$(curl -sf -H 'Content-Type: application/json' \
+  -d '{"userId":"admin","password":"admin123"}' \
+  "$BASE_URL/api/auth/login" | sed -E 's/.*"accessToken":"([^"]+)".*/\1/')
+
+REPORT="$OUT_DIR/items-$MODE.txt"
+echo "mode,concurrency,requests_per_sec,p99_seconds" > "$REPORT"
+
+for CONCURRENCY in $LEVELS; do
+  RAW="$OUT_DIR/items-$MODE-c$CONCURRENCY.raw"
+  hey -z "$DURATION" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" \
+    "$BASE_URL/api/items?page=0&size=10" > "$RAW"
+
+  RPS=$(awk '/Requests\/sec:/ {print $2}' "$RAW")
+  P99=$(awk '/99% in/ {print $3}' "$RAW")
+  echo "$MODE,$CONCURRENCY,$RPS,$P99" | tee -a "$REPORT"
+done
+
+echo "Report written to $REPORT"
@@ -0,0 +1,62 @@
+package com.example.gogo.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(SECRET, "", 900000L, 604800000L);
+        userDetails = new User("benchmark", "", Collections.emptyList());
+        token = jwtUtil.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public String signCached() {
+        return jwtUtil.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    // Baselines reproduce the previous per-call key and parser construction
+    @Benchmark
+    public String signUncached() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 900000L))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
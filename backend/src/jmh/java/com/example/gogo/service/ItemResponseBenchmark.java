@@ -0,0 +1,74 @@
+package com.example.gogo.service;
+
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
+import com.example.gogo.entity.Item;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemResponseBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private Item item;
+    private ItemResponse response;
+    private List<ItemResponse> page;
+    // Configured the way Spring MVC configures its converter
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        LocalDateTime now = LocalDateTime.now();
+        item = Item.builder()
+                .id(1L)
+                .title("Theta Engine - VIN: KMHXX000000000001")
+                .description("Vehicle Model: Sonata | Year: 2024 | Status: WARNING")
+                .vin("KMHXX000000000001")
+                .chassisNumber("CH0000000001")
+                .vehicleModel("Sonata")
+                .modelYear(2024)
+                .rpm(3200)
+                .engineTemp(92)
+                .mileage(48000)
+                .diagnosticDate(now.minusDays(1))
+                .status(DiagnosticStatus.WARNING)
+                .technician("Sarah Lee")
+                .engineType(EngineType.THETA)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        response = ItemService.mapToResponse(item);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(response);
+        }
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public ItemResponse mapToResponse() {
+        return ItemService.mapToResponse(item);
+    }
+
+    @Benchmark
+    public byte[] serializeItem() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
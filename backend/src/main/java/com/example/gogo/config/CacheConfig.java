@@ -0,0 +1,21 @@
+package com.example.gogo.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ITEMS = "items";
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> transactionAwareCacheManager() {
+        // Defer puts and evictions until the surrounding transaction commits
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
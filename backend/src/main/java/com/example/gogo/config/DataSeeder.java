@@ -0,0 +1,254 @@
+package com.example.gogo.config;
+
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Fills an empty database with synthetic users and diagnostic records for development and
+ * benchmarking. Items are written with plain JDBC as multi-row INSERTs, one transaction per
+ * commit-size slice, with slices spread over a worker pool. Generation is deterministic for a
+ * given random-seed. Never runs under the prod profile.
+ */
+@Component
+@Profile("!prod")
+@ConditionalOnProperty(name = "seed.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class DataSeeder implements CommandLineRunner {
+
+    private static final String ITEM_COLUMNS = "id, title, description, vin, chassis_number, vehicle_model, model_year, " +
+            "rpm, engine_temp, mileage, diagnostic_date, status, technician, engine_type, user_id, created_at, updated_at";
+    private static final int ITEM_COLUMN_COUNT = 17;
+    // Matches the allocation size of items_seq so Hibernate's pooled ids never collide with seeded ones
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final String GENERATED_USER_PASSWORD = "password123";
+
+    private static final String[] TECHNICIANS = {"John Kim", "Sarah Lee", "Mike Park", "Emily Chen", "David Park"};
+    private static final int[] MODEL_YEARS = {2020, 2021, 2022, 2023, 2024, 2025};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${seed.users:2}")
+    private int userCount;
+
+    @Value("${seed.items:100}")
+    private long itemCount;
+
+    @Value("${seed.threads:0}")
+    private int threads;
+
+    @Value("${seed.rows-per-statement:500}")
+    private int rowsPerStatement;
+
+    @Value("${seed.commit-size:10000}")
+    private int commitSize;
+
+    @Value("${seed.history-days:365}")
+    private int historyDays;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.status-weights:NORMAL:70,WARNING:20,CRITICAL:10}")
+    private String statusWeights;
+
+    @Value("${seed.engine-weights:THETA:30,SMARTSTREAM:30,GAMMA:20,ELECTRIC:20}")
+    private String engineWeights;
+
+    @Value("${seed.model-weights:Sonata,Tucson,Santa Fe,Elantra,Kona,Palisade,Ioniq 5,Genesis G80,Venue,Staria}")
+    private String modelWeights;
+
+    @Override
+    public void run(String... args) {
+        Long existingUsers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existingUsers != null && existingUsers > 0) {
+            log.info("Database already contains users, skipping seed");
+            return;
+        }
+
+        try {
+            long started = System.nanoTime();
+            List<Long> userIds = seedUsers();
+            seedItems(userIds);
+            log.info("Seeded {} users and {} items in {} ms", userIds.size(), itemCount, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("Error seeding data", e);
+        }
+    }
+
+    private List<Long> seedUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"test", "test@hyundai.com", passwordEncoder.encode("123456"), now, now});
+        rows.add(new Object[]{"admin", "admin@hyundai.com", passwordEncoder.encode("admin123"), now, now});
+
+        // Hashing is deliberately slow, so every generated user shares one hash
+        String sharedHash = passwordEncoder.encode(GENERATED_USER_PASSWORD);
+        for (int i = 3; i <= userCount; i++) {
+            String username = String.format("user%05d", i);
+            rows.add(new Object[]{username, username + "@hyundai.com", sharedHash, now, now});
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO users (username, email, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", rows));
+        log.info("Created users test / 123456 and admin / admin123, plus {} generated users with password {}",
+                rows.size() - 2, GENERATED_USER_PASSWORD);
+        return jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+    }
+
+    private void seedItems(List<Long> userIds) throws InterruptedException, ExecutionException {
+        if (itemCount <= 0) {
+            return;
+        }
+        Weighted<DiagnosticStatus> statuses = Weighted.parse(statusWeights, DiagnosticStatus::valueOf);
+        Weighted<EngineType> engines = Weighted.parse(engineWeights, EngineType::valueOf);
+        Weighted<String> models = Weighted.parse(modelWeights, Function.identity());
+        LocalDateTime now = LocalDateTime.now();
+        AtomicLong inserted = new AtomicLong();
+        String fullInsert = insertSql(rowsPerStatement);
+
+        List<Callable<Void>> slices = new ArrayList<>();
+        for (long first = 1; first <= itemCount; first += commitSize) {
+            long from = first;
+            long to = Math.min(itemCount, first + commitSize - 1);
+            slices.add(() -> {
+                SplittableRandom random = new SplittableRandom(randomSeed + from);
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (long start = from; start <= to; start += rowsPerStatement) {
+                        int rows = (int) Math.min(rowsPerStatement, to - start + 1);
+                        Object[] args = new Object[rows * ITEM_COLUMN_COUNT];
+                        for (int row = 0; row < rows; row++) {
+                            fillItem(args, row * ITEM_COLUMN_COUNT, start + row, random, userIds, statuses, engines, models, now);
+                        }
+                        jdbcTemplate.update(rows == rowsPerStatement ? fullInsert : insertSql(rows), args);
+                    }
+                });
+                reportProgress(inserted.addAndGet(to - from + 1), to - from + 1);
+                return null;
+            });
+        }
+
+        int workers = threads > 0 ? threads : Math.min(4, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            for (Future<Void> slice : executor.invokeAll(slices)) {
+                slice.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Seeded rows use explicit ids, so move the sequence past them
+        jdbcTemplate.execute("ALTER SEQUENCE items_seq RESTART WITH " + (itemCount + ID_ALLOCATION_SIZE + 1));
+    }
+
+    private void fillItem(Object[] args, int offset, long id, SplittableRandom random, List<Long> userIds,
+                          Weighted<DiagnosticStatus> statuses, Weighted<EngineType> engines, Weighted<String> models,
+                          LocalDateTime now) {
+        String vin = String.format("KMHXX%012d", id);
+        String model = models.pick(random);
+        int year = MODEL_YEARS[random.nextInt(MODEL_YEARS.length)];
+        EngineType engineType = engines.pick(random);
+        DiagnosticStatus status = statuses.pick(random);
+        LocalDateTime createdAt = now.minusSeconds(random.nextLong((long) historyDays * 86_400 + 1));
+
+        args[offset] = id;
+        args[offset + 1] = engineType.getDisplayName() + " Engine - VIN: " + vin;
+        args[offset + 2] = "Vehicle Model: " + model + " | Year: " + year + " | Status: " + status;
+        args[offset + 3] = vin;
+        args[offset + 4] = String.format("CH%010d", id);
+        args[offset + 5] = model;
+        args[offset + 6] = year;
+        // Electric cars have 0 RPM
+        args[offset + 7] = engineType == EngineType.ELECTRIC ? 0 : 700 + random.nextInt(3800);
+        args[offset + 8] = 60 + random.nextInt(status == DiagnosticStatus.CRITICAL ? 70 : 45);
+        args[offset + 9] = random.nextInt(250_000);
+        args[offset + 10] = createdAt.minusMinutes(random.nextInt(48 * 60));
+        args[offset + 11] = status.getCode();
+        args[offset + 12] = TECHNICIANS[random.nextInt(TECHNICIANS.length)];
+        args[offset + 13] = engineType.getCode();
+        args[offset + 14] = userIds.get(random.nextInt(userIds.size()));
+        args[offset + 15] = createdAt;
+        args[offset + 16] = createdAt;
+    }
+
+    private String insertSql(int rows) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(ITEM_COLUMN_COUNT, "?")) + ")";
+        return "INSERT INTO items (" + ITEM_COLUMNS + ") VALUES " + String.join(", ", Collections.nCopies(rows, placeholders));
+    }
+
+    private void reportProgress(long done, long slice) {
+        // Log at every tenth of the total
+        if (done * 10 / itemCount != (done - slice) * 10 / itemCount) {
+            log.info("Seeded {}/{} items", done, itemCount);
+        }
+    }
+
+    /**
+     * Picks values with probability proportional to their weight. Parsed from "A:70,B:20,C"
+     * where a missing weight counts as 1.
+     */
+    private record Weighted<T>(List<T> values, int[] cumulative) {
+
+        static <T> Weighted<T> parse(String spec, Function<String, T> parser) {
+            List<T> values = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            for (String entry : spec.split(",")) {
+                String trimmed = entry.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int separator = trimmed.lastIndexOf(':');
+                values.add(parser.apply(separator < 0 ? trimmed : trimmed.substring(0, separator).trim()));
+                weights.add(separator < 0 ? 1 : Integer.parseInt(trimmed.substring(separator + 1).trim()));
+            }
+            int[] cumulative = new int[weights.size()];
+            int total = 0;
+            for (int i = 0; i < weights.size(); i++) {
+                total += weights.get(i);
+                cumulative[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("Seed weights must not all be zero: " + spec);
+            }
+            return new Weighted<>(values, cumulative);
+        }
+
+        T pick(SplittableRandom random) {
+            int target = random.nextInt(cumulative[cumulative.length - 1]);
+            int index = Arrays.binarySearch(cumulative, target + 1);
+            index = index >= 0 ? index : -index - 1;
+            // Skip back over zero-weight entries that share the same cumulative total
+            while (index > 0 && cumulative[index - 1] == cumulative[index]) {
+                index--;
+            }
+            return values.get(index);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.gogo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions from a set of replica pools. A replica whose
+ * last check failed or whose replication lag exceeds the limit is skipped; with no usable replica
+ * the connection comes from the primary, so reads never fail just because the replicas are behind.
+ * Replicas start out of rotation: {@link #start()} checks them once before the data source is handed
+ * to anyone, then keeps checking on a thread of its own, so a hung replica cannot hold up other
+ * scheduled work.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_BUSY
+    }
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Selection selection;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Duration checkInterval;
+    private final Counter fallbacks;
+    private final ScheduledExecutorService checker;
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicaPools, Selection selection,
+                             String lagQuery, Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.checkInterval = checkInterval;
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks").register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", replica.pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.usable", replica, r -> r.usable ? 1 : 0)
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(meterRegistry);
+        }
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        // Synchronous, so a replica that is down or lagging at startup never receives a read
+        checkReplicas();
+        checker.scheduleWithFixedDelay(this::checkReplicas, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = select();
+            if (replica == null) {
+                break;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                // Taken out of rotation until the next check finds it reachable again
+                replica.usable = false;
+                log.warn("Replica {} unavailable: {}", replica.pool.getPoolName(), e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // JDBC callers expect an SQLException here, not an unchecked exception
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasUsable = replica.usable;
+            try (Connection connection = replica.pool.getConnection()) {
+                replica.lagSeconds = lagQuery != null ? queryLag(connection) : 0;
+                replica.usable = replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException | RuntimeException e) {
+                replica.usable = false;
+            }
+            if (wasUsable != replica.usable) {
+                log.warn("Replica {} is now {} (lag {}s)", replica.pool.getPoolName(),
+                        replica.usable ? "in rotation" : "out of rotation", replica.lagSeconds);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        checker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                // No row or NULL means nothing to replay, as on a caught-up or idle replica
+                if (!resultSet.next()) {
+                    return 0;
+                }
+                double lag = resultSet.getDouble(1);
+                return resultSet.wasNull() ? 0 : lag;
+            }
+        }
+    }
+
+    private Replica select() {
+        int size = replicas.size();
+        if (selection == Selection.LEAST_BUSY) {
+            Replica best = null;
+            int bestActive = Integer.MAX_VALUE;
+            for (Replica replica : replicas) {
+                if (!replica.usable) {
+                    continue;
+                }
+                int active = replica.activeConnections();
+                if (active < bestActive) {
+                    best = replica;
+                    bestActive = active;
+                }
+            }
+            return best;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.usable) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean usable;
+        private volatile double lagSeconds;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private int activeConnections() {
+            // The pool MXBean only exists once the pool has started
+            return pool.getHikariPoolMXBean() != null
+                    ? pool.getHikariPoolMXBean().getActiveConnections() + pool.getHikariPoolMXBean().getThreadsAwaitingConnection()
+                    : 0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.gogo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to read replicas and everything else to the
+ * primary. The connection is fetched lazily, on the first statement, because the read-only flag
+ * of a JPA transaction is only known after the transaction has begun.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               DataSourceProperties properties,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${datasource.replicas.urls}") List<String> urls,
+                                               @Value("${datasource.replicas.username:}") String username,
+                                               @Value("${datasource.replicas.password:}") String password,
+                                               @Value("${datasource.replicas.pool-size:10}") int poolSize,
+                                               @Value("${datasource.replicas.selection:round-robin}") String selection,
+                                               @Value("${datasource.replicas.lag-query:}") String lagQuery,
+                                               @Value("${datasource.replicas.max-lag:PT10S}") Duration maxLag,
+                                               @Value("${datasource.replicas.connection-timeout:PT0.25S}") Duration connectionTimeout,
+                                               @Value("${datasource.replicas.check-interval:PT5S}") Duration checkInterval) {
+        List<HikariDataSource> pools = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("gogo-replica-" + (i + 1));
+            pool.setJdbcUrl(urls.get(i).trim());
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            pool.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            pool.setMaximumPoolSize(poolSize);
+            // Fail over to the next replica or the primary quickly rather than after Hikari's 30 s default
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            pool.setReadOnly(true);
+            pool.setMetricRegistry(meterRegistry);
+            pools.add(pool);
+        }
+        return new ReplicaDataSource(primaryDataSource, pools,
+                ReplicaDataSource.Selection.valueOf(selection.trim().toUpperCase().replace('-', '_')),
+                lagQuery, maxLag, checkInterval, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.gogo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Profile("virtual")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int poolSize = dataSource.getMaximumPoolSize();
+                    int maxConcurrent = environment.getProperty("datasource.guard.max-concurrent", Integer.class, poolSize - 4);
+                    if (maxConcurrent < 1 || maxConcurrent >= poolSize) {
+                        throw new IllegalStateException("datasource.guard.max-concurrent must be between 1 and "
+                                + (poolSize - 1) + " for a pool of " + poolSize);
+                    }
+                    long acquireTimeout = environment.getProperty("datasource.guard.acquire-timeout", Long.class, 2000L);
+                    return new ConnectionLimitingDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
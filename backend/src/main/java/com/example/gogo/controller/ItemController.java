@@ -1,40 +1,131 @@
 package com.example.gogo.controller;
 
+import com.example.gogo.dto.BulkItemResponse;
+import com.example.gogo.dto.CursorPage;
+import com.example.gogo.dto.ItemFilter;
 import com.example.gogo.dto.ItemRequest;
 import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.dto.ItemStatsResponse;
+import com.example.gogo.dto.TelemetrySeriesResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.events.ItemEventBus;
+import com.example.gogo.service.ItemExportService;
 import com.example.gogo.service.ItemService;
+import com.example.gogo.service.TelemetryService;
+import com.example.gogo.telemetry.Resolution;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/items")
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ItemService itemService;
+    private final ItemExportService itemExportService;
+    private final TelemetryService telemetryService;
+    private final ItemEventBus itemEventBus;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public ResponseEntity<Page<ItemResponse>> getItems(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
             @RequestParam(required = false) String search,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @ModelAttribute ItemFilter filter,
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest) {
+        // Unchanged since the client's copy: answer 304 before any row is read
+        if (webRequest.checkNotModified(ItemETags.of(itemService.getWatermark()))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return ResponseEntity.ok(itemService.getItems(userDetails.getUsername(), search, pageable));
+        return ResponseEntity.ok(itemService.getItems(userDetails.getUsername(), search, filter, pageable));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ItemResponse>> getItemsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(ItemETags.of(itemService.getWatermark()))) {
+            return null;
+        }
+        return ResponseEntity.ok(itemService.getItemsByCursor(userDetails.getUsername(), cursor, size));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ItemStatsResponse> getStats() {
+        return ResponseEntity.ok(itemService.getStats());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamItems(@RequestParam(required = false) List<DiagnosticStatus> status,
+                                  @RequestParam(required = false) String vehicleModel) {
+        return itemEventBus.subscribe(status, vehicleModel);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportItems(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ItemExportService.Format exportFormat = ItemExportService.Format.from(format);
+        StreamingResponseBody body = outputStream -> itemExportService.export(search, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=items." + exportFormat.getExtension())
+                .body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ItemResponse> getItem(@PathVariable Long id,
-                                                 @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(itemService.getItemById(userDetails.getUsername(), id));
+                                                 @AuthenticationPrincipal UserDetails userDetails,
+                                                 WebRequest webRequest) {
+        long version = itemService.getItemVersion(id);
+        ItemResponse item = itemService.getItemById(userDetails.getUsername(), id);
+        // The cached copy lags writes made on other nodes; the tag must describe the body actually sent
+        if (item.getVersion() != version) {
+            item = itemService.reloadItem(id);
+        }
+        if (webRequest.checkNotModified(ItemETags.of(item.getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok(item);
+    }
+
+    @GetMapping("/{id}/telemetry")
+    public ResponseEntity<TelemetrySeriesResponse> getItemTelemetry(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Resolution resolution) {
+        return ResponseEntity.ok(telemetryService.getItemSeries(id, from, to, resolution));
     }
 
     @PostMapping
@@ -43,11 +134,29 @@ public class ItemController {
         return ResponseEntity.ok(itemService.createItem(userDetails.getUsername(), request));
     }
 
+    /**
+     * Reads a JSON array or NDJSON one record at a time, so a bad record fails on its own and the
+     * body is never held in memory whole.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkItemResponse> createItems(HttpServletRequest request,
+                                                        @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        // A top-level array is unwrapped by the iterator; NDJSON is a sequence of root values
+        try (MappingIterator<ItemRequest> records = objectMapper.readerFor(ItemRequest.class)
+                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(itemService.createItems(userDetails.getUsername(), records));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ItemResponse> updateItem(@PathVariable Long id,
                                                     @Valid @RequestBody ItemRequest request,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                     @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(itemService.updateItem(userDetails.getUsername(), id, request));
+        ItemResponse updated = itemService.updateItem(userDetails.getUsername(), id, request, ItemETags.requiredVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ItemETags.of(updated.getVersion()))
+                .body(updated);
     }
 
     @DeleteMapping("/{id}")
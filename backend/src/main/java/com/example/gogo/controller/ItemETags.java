@@ -0,0 +1,47 @@
+package com.example.gogo.controller;
+
+import com.example.gogo.dto.ItemWatermark;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * ETag values for items: a strong tag of the version for a single item, and a weak tag of the
+ * table watermark for collections.
+ */
+final class ItemETags {
+
+    private ItemETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(ItemWatermark watermark) {
+        // Microseconds, the precision updated_at is stored with
+        long lastModified = watermark.lastModified() != null
+                ? ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), watermark.lastModified())
+                : 0;
+        return "W/\"" + watermark.count() + "-" + lastModified + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header requires, or null when any version is acceptable.
+     * Weak or unparseable tags map to -1, a version no item has, so they fail the precondition.
+     */
+    static Long requiredVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through
+            }
+        }
+        return -1L;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.gogo.controller;
+
+import com.example.gogo.dto.TelemetryBatchRequest;
+import com.example.gogo.dto.TelemetryBatchResponse;
+import com.example.gogo.dto.TelemetrySeriesResponse;
+import com.example.gogo.service.TelemetryService;
+import com.example.gogo.telemetry.Resolution;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/telemetry")
+@RequiredArgsConstructor
+public class TelemetryController {
+
+    private final TelemetryService telemetryService;
+
+    @PostMapping("/readings")
+    public ResponseEntity<TelemetryBatchResponse> appendReadings(@Valid @RequestBody TelemetryBatchRequest request) {
+        return ResponseEntity.ok(telemetryService.append(request));
+    }
+
+    @GetMapping("/{vin}")
+    public ResponseEntity<TelemetrySeriesResponse> getSeries(
+            @PathVariable String vin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) Resolution resolution) {
+        return ResponseEntity.ok(telemetryService.getSeries(vin, from, to, resolution));
+    }
+}
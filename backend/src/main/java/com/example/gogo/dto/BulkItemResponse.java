@@ -0,0 +1,25 @@
+package com.example.gogo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResponse {
+    private int received;
+    private int created;
+    private List<Failure> failures;
+
+    @Data
+    @AllArgsConstructor
+    public static class Failure {
+        private int index;
+        private String message;
+    }
+}
\ No newline at end of file
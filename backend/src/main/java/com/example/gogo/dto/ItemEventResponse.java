@@ -0,0 +1,15 @@
+package com.example.gogo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemEventResponse {
+    private String type;
+    private Long itemId;
+    // Null for deletions
+    private ItemResponse item;
+}
@@ -0,0 +1,37 @@
+package com.example.gogo.dto;
+
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class ItemFilter {
+    private List<DiagnosticStatus> status;
+    private String vehicleModel;
+    private EngineType engineType;
+    private Integer modelYear;
+
+    private Integer minRpm;
+    private Integer maxRpm;
+    private Integer minEngineTemp;
+    private Integer maxEngineTemp;
+    private Integer minMileage;
+    private Integer maxMileage;
+
+    // Inclusive diagnosticDate window
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    public boolean isEmpty() {
+        return (status == null || status.isEmpty()) && vehicleModel == null && engineType == null && modelYear == null
+                && minRpm == null && maxRpm == null && minEngineTemp == null && maxEngineTemp == null
+                && minMileage == null && maxMileage == null && startDate == null && endDate == null;
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.gogo.dto;
 
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 public class ItemRequest {
     @NotBlank
@@ -11,4 +18,35 @@ public class ItemRequest {
     private String title;
 
     private String description;
+
+    // Diagnostic fields
+    @Size(max = 17)
+    private String vin;
+
+    @Size(max = 32)
+    private String chassisNumber;
+
+    @Size(max = 64)
+    private String vehicleModel;
+
+    @Min(1900)
+    @Max(2100)
+    private Integer modelYear;
+
+    @PositiveOrZero
+    private Integer rpm;
+
+    private Integer engineTemp;
+
+    @PositiveOrZero
+    private Integer mileage;
+
+    private LocalDateTime diagnosticDate;
+
+    private DiagnosticStatus status;
+
+    @Size(max = 100)
+    private String technician;
+
+    private EngineType engineType;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.gogo.dto;
 
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,15 +22,16 @@ public class ItemResponse {
     private String vin;
     private String chassisNumber;
     private String vehicleModel;
-    private String modelYear;
+    private Integer modelYear;
     private Integer rpm;
     private Integer engineTemp;
     private Integer mileage;
     private LocalDateTime diagnosticDate;
-    private String status;
+    private DiagnosticStatus status;
     private String technician;
-    private String engineType;
+    private EngineType engineType;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.gogo.dto;
+
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemStatsResponse {
+    private long total;
+    private Map<DiagnosticStatus, Long> byStatus;
+    private Map<EngineType, Long> byEngineType;
+    private Map<String, ModelStats> byVehicleModel;
+    private MetricStats rpm;
+    private MetricStats engineTemp;
+    private MetricStats mileage;
+    private LocalDateTime generatedAt;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ModelStats {
+        private long count;
+        private Double avgEngineTemp;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class MetricStats {
+        private long count;
+        private Long min;
+        private Long max;
+        private Double avg;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.gogo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Changes whenever any item is created or updated (lastModified) or deleted (count).
+ */
+public record ItemWatermark(long count, LocalDateTime lastModified) {
+}
@@ -0,0 +1,16 @@
+package com.example.gogo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TelemetryBatchRequest {
+
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@Valid TelemetryReading> readings;
+}
@@ -0,0 +1,17 @@
+package com.example.gogo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryBatchResponse {
+    private int received;
+    private int accepted;
+    // Readings older than the open chunk of their series, or too far in the future
+    private int rejected;
+}
@@ -0,0 +1,27 @@
+package com.example.gogo.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetryReading {
+
+    @NotBlank
+    @Size(max = 17)
+    private String vin;
+
+    @NotNull
+    private Instant timestamp;
+
+    private Integer rpm;
+
+    private Integer engineTemp;
+}
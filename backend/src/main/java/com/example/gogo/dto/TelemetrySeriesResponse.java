@@ -0,0 +1,44 @@
+package com.example.gogo.dto;
+
+import com.example.gogo.telemetry.Resolution;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetrySeriesResponse {
+    private String vin;
+    private Resolution resolution;
+    private Instant from;
+    private Instant to;
+    private List<Point> points;
+    // Over the whole range
+    private Aggregate rpm;
+    private Aggregate engineTemp;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Point {
+        private Instant time;
+        private Aggregate rpm;
+        private Aggregate engineTemp;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Aggregate {
+        private long count;
+        private Integer min;
+        private Integer max;
+        private Double avg;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.gogo.entity;
+
+public enum DiagnosticStatus {
+    NORMAL(1),
+    WARNING(2),
+    CRITICAL(3);
+
+    // Stored code; never reuse or renumber once released
+    private final short code;
+
+    DiagnosticStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static DiagnosticStatus fromCode(short code) {
+        for (DiagnosticStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown diagnostic status code: " + code);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.gogo.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class DiagnosticStatusConverter implements AttributeConverter<DiagnosticStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(DiagnosticStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public DiagnosticStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : DiagnosticStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.gogo.entity;
+
+public enum EngineType {
+    THETA(1, "Theta"),
+    ATKINSON(2, "Atkinson"),
+    GAMMA(3, "Gamma"),
+    SMARTSTREAM(4, "Smartstream"),
+    ELECTRIC(5, "Electric");
+
+    // Stored code; never reuse or renumber once released
+    private final short code;
+    private final String displayName;
+
+    EngineType(int code, String displayName) {
+        this.code = (short) code;
+        this.displayName = displayName;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public static EngineType fromCode(short code) {
+        for (EngineType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown engine type code: " + code);
+    }
+}
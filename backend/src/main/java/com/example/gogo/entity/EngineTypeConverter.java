@@ -0,0 +1,18 @@
+package com.example.gogo.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class EngineTypeConverter implements AttributeConverter<EngineType, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(EngineType engineType) {
+        return engineType == null ? null : engineType.getCode();
+    }
+
+    @Override
+    public EngineType convertToEntityAttribute(Short code) {
+        return code == null ? null : EngineType.fromCode(code);
+    }
+}
@@ -13,7 +13,16 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "items")
+@Table(name = "items",
+        uniqueConstraints = @UniqueConstraint(name = "uk_items_vin", columnNames = "vin"),
+        indexes = {
+                @Index(name = "idx_items_created_at_id", columnList = "created_at DESC, id DESC"),
+                @Index(name = "idx_items_user_id_created_at", columnList = "user_id, created_at"),
+                @Index(name = "idx_items_status_created_at", columnList = "status, created_at"),
+                @Index(name = "idx_items_diagnostic_date", columnList = "diagnostic_date"),
+                @Index(name = "idx_items_chassis_number", columnList = "chassis_number"),
+                @Index(name = "idx_items_updated_at", columnList = "updated_at")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +30,8 @@ import java.time.LocalDateTime;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -33,17 +43,17 @@ public class Item {
     private String description;
 
     // Diagnostic fields
-    @Column(name = "vin")
+    @Column(name = "vin", length = 17)
     private String vin;
 
-    @Column(name = "chassis_number")
+    @Column(name = "chassis_number", length = 32)
     private String chassisNumber;
 
-    @Column(name = "vehicle_model")
+    @Column(name = "vehicle_model", length = 64)
     private String vehicleModel;
 
-    @Column(name = "model_year")
-    private String modelYear;
+    @Column(name = "model_year", columnDefinition = "SMALLINT")
+    private Integer modelYear;
 
     @Column(name = "rpm")
     private Integer rpm;
@@ -57,14 +67,16 @@ public class Item {
     @Column(name = "diagnostic_date")
     private LocalDateTime diagnosticDate;
 
-    @Column(name = "status")
-    private String status;
+    @Convert(converter = DiagnosticStatusConverter.class)
+    @Column(name = "status", columnDefinition = "SMALLINT")
+    private DiagnosticStatus status;
 
-    @Column(name = "technician")
+    @Column(name = "technician", length = 100)
     private String technician;
 
-    @Column(name = "engine_type")
-    private String engineType;
+    @Convert(converter = EngineTypeConverter.class)
+    @Column(name = "engine_type", columnDefinition = "SMALLINT")
+    private EngineType engineType;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = true)
@@ -77,4 +89,9 @@ public class Item {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Incremented on every update; exposed as the item's ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.example.gogo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "item_stats_snapshots", indexes = {
+        @Index(name = "idx_item_stats_snapshots_taken_at", columnList = "taken_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemStatsSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    @Column(name = "total_items", nullable = false)
+    private Long totalItems;
+
+    // ItemStatsResponse serialized as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+}
@@ -0,0 +1,45 @@
+package com.example.gogo.entity;
+
+import com.example.gogo.telemetry.Resolution;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "telemetry_chunks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_telemetry_chunks_series_start",
+                columnNames = {"vin", "resolution", "start_bucket"}),
+        indexes = @Index(name = "idx_telemetry_chunks_resolution_end", columnList = "resolution, end_bucket"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TelemetryChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 17)
+    private String vin;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Resolution resolution;
+
+    // Epoch seconds of the first and last bucket held in the payload
+    @Column(name = "start_bucket", nullable = false)
+    private Long startBucket;
+
+    @Column(name = "end_bucket", nullable = false)
+    private Long endBucket;
+
+    @Column(name = "bucket_count", nullable = false)
+    private Integer bucketCount;
+
+    // Columnar encoding produced by SeriesChunk
+    @Column(nullable = false, columnDefinition = "BYTEA")
+    private byte[] payload;
+}
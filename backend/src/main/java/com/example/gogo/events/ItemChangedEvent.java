@@ -0,0 +1,31 @@
+package com.example.gogo.events;
+
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+
+/**
+ * Published by ItemService for every created, updated or deleted item and delivered to stream
+ * subscribers once the transaction commits. The previous status and model let a filtered
+ * subscriber see an item leave its filter.
+ */
+public record ItemChangedEvent(Type type, Long itemId, ItemResponse item,
+                               DiagnosticStatus status, String vehicleModel,
+                               DiagnosticStatus previousStatus, String previousVehicleModel) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ItemChangedEvent created(ItemResponse item) {
+        return new ItemChangedEvent(Type.CREATED, item.getId(), item, item.getStatus(), item.getVehicleModel(), null, null);
+    }
+
+    public static ItemChangedEvent updated(ItemResponse item, DiagnosticStatus previousStatus, String previousVehicleModel) {
+        return new ItemChangedEvent(Type.UPDATED, item.getId(), item, item.getStatus(), item.getVehicleModel(),
+                previousStatus, previousVehicleModel);
+    }
+
+    public static ItemChangedEvent deleted(Long itemId, DiagnosticStatus status, String vehicleModel) {
+        return new ItemChangedEvent(Type.DELETED, itemId, null, status, vehicleModel, null, null);
+    }
+}
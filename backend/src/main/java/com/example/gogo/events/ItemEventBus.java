@@ -0,0 +1,168 @@
+package com.example.gogo.events;
+
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of item changes to Server-Sent Events subscribers. An idle subscriber is an
+ * async servlet response and a small buffer, with no thread attached. Sends run on a bounded pool
+ * of their own, on virtual threads where the JDK has them, so a client that stops reading parks its
+ * sender without taking a thread from request handling or other async work. Drains beyond the
+ * pool's queue are rejected and counted as drops. A subscriber whose send has been blocked for
+ * longer than the send timeout is treated as gone.
+ * <p>
+ * Browsers' {@code EventSource} cannot set an {@code Authorization} header, so the stream takes
+ * the same bearer token as the rest of the API: browser clients read it with {@code fetch} and a
+ * stream reader, or with an EventSource polyfill that sends headers. Tokens are deliberately not
+ * accepted in the query string, where proxies and access logs would record them.
+ */
+@Component
+public class ItemEventBus {
+
+    private final Set<ItemStreamSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolTaskExecutor executor;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    public ItemEventBus(MeterRegistry meterRegistry,
+                        @Value("${items.stream.buffer-size:256}") int bufferSize,
+                        @Value("${items.stream.max-subscribers:10000}") int maxSubscribers,
+                        @Value("${items.stream.timeout:PT30M}") Duration timeout,
+                        @Value("${items.stream.send-timeout:PT10S}") Duration sendTimeout,
+                        @Value("${items.stream.send-threads:64}") int sendThreads,
+                        @Value("${items.stream.send-queue-capacity:10000}") int sendQueueCapacity) {
+        this.executor = sendExecutor(sendThreads, sendQueueCapacity);
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        this.published = Counter.builder("items.stream.events").register(meterRegistry);
+        this.dropped = Counter.builder("items.stream.dropped").register(meterRegistry);
+        this.stalled = Counter.builder("items.stream.stalled").register(meterRegistry);
+        Gauge.builder("items.stream.subscribers", subscriptions, Collection::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Collection<DiagnosticStatus> statuses, String vehicleModel) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Too many stream subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Set<DiagnosticStatus> statusFilter = statuses == null || statuses.isEmpty()
+                ? EnumSet.noneOf(DiagnosticStatus.class)
+                : EnumSet.copyOf(statuses);
+        String modelFilter = vehicleModel == null || vehicleModel.isBlank() ? null : vehicleModel;
+        ItemStreamSubscription subscription = new ItemStreamSubscription(
+                emitter, statusFilter, modelFilter, bufferSize, executor, sequence, dropped::increment);
+
+        Runnable remove = () -> {
+            subscription.close();
+            subscriptions.remove(subscription);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        subscriptions.add(subscription);
+
+        // Commits the response headers so the client sees the stream open straight away
+        subscription.heartbeat();
+        return emitter;
+    }
+
+    /**
+     * Delivers the event once the current transaction commits, or immediately outside one.
+     */
+    public void publish(ItemChangedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${items.stream.heartbeat-interval:PT20S}",
+            initialDelayString = "${items.stream.heartbeat-interval:PT20S}")
+    public void heartbeat() {
+        // Keeps proxies from closing idle streams and surfaces clients that went away
+        long now = System.nanoTime();
+        for (ItemStreamSubscription subscription : subscriptions) {
+            if (subscription.isSendStalled(now, sendTimeout.toNanos())) {
+                // Completing the emitter would wait on the blocked send; just stop feeding it
+                subscription.close();
+                stalled.increment();
+            }
+        }
+        subscriptions.removeIf(ItemStreamSubscription::isClosed);
+        subscriptions.forEach(ItemStreamSubscription::heartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ItemStreamSubscription subscription : subscriptions) {
+            subscription.close();
+            subscription.emitter().complete();
+        }
+        subscriptions.clear();
+        executor.shutdown();
+    }
+
+    private static ThreadPoolTaskExecutor sendExecutor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("item-stream-");
+        executor.setDaemon(true);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setVirtualThreads(true);
+        try {
+            executor.initialize();
+        } catch (UnsupportedOperationException e) {
+            // Before Java 21: the same bound, on platform threads
+            executor.setVirtualThreads(false);
+            executor.initialize();
+        }
+        return executor;
+    }
+
+    private void dispatch(ItemChangedEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        published.increment();
+        for (ItemStreamSubscription subscription : subscriptions) {
+            if (subscription.matches(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.gogo.events;
+
+import com.example.gogo.dto.ItemEventResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One SSE client. Events wait in a buffer keyed by item id, so repeated changes to the same item
+ * collapse into the latest one. When the buffer is full the oldest entry is dropped and the client
+ * is sent a "resync" event telling it to re-fetch. At most one drain task per subscription runs
+ * at a time; publishers never block on a slow client. When the executor is saturated the drain is
+ * not scheduled and counted as a drop; the buffered events go out with the next offer or heartbeat.
+ */
+final class ItemStreamSubscription {
+
+    private final SseEmitter emitter;
+    private final Set<DiagnosticStatus> statuses;
+    private final String vehicleModel;
+    private final int capacity;
+    private final TaskExecutor executor;
+    private final AtomicLong sequence;
+    private final Runnable onDrop;
+
+    private final LinkedHashMap<Long, ItemChangedEvent> pending = new LinkedHashMap<>();
+    private boolean overflowed;
+    private boolean heartbeatDue;
+    private boolean draining;
+    private boolean closed;
+    // System.nanoTime() when the send in progress started, 0 when none is
+    private volatile long sendingSince;
+
+    ItemStreamSubscription(SseEmitter emitter, Set<DiagnosticStatus> statuses, String vehicleModel, int capacity,
+                           TaskExecutor executor, AtomicLong sequence, Runnable onDrop) {
+        this.emitter = emitter;
+        this.statuses = statuses;
+        this.vehicleModel = vehicleModel;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.sequence = sequence;
+        this.onDrop = onDrop;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean matches(ItemChangedEvent event) {
+        return matches(event.status(), event.vehicleModel())
+                || (event.type() == ItemChangedEvent.Type.UPDATED && matches(event.previousStatus(), event.previousVehicleModel()));
+    }
+
+    void offer(ItemChangedEvent event) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            ItemChangedEvent replaced = pending.remove(event.itemId());
+            if (replaced == null && pending.size() >= capacity) {
+                Iterator<ItemChangedEvent> oldest = pending.values().iterator();
+                oldest.next();
+                oldest.remove();
+                overflowed = true;
+                onDrop.run();
+            }
+            pending.put(event.itemId(), event);
+            if (!startDrain()) {
+                return;
+            }
+        }
+        scheduleDrain();
+    }
+
+    void heartbeat() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            heartbeatDue = true;
+            if (!startDrain()) {
+                return;
+            }
+        }
+        scheduleDrain();
+    }
+
+    boolean isSendStalled(long now, long timeoutNanos) {
+        long since = sendingSince;
+        return since != 0 && now - since > timeoutNanos;
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    private boolean startDrain() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    private void scheduleDrain() {
+        try {
+            executor.execute(this::drain);
+        } catch (TaskRejectedException e) {
+            synchronized (this) {
+                draining = false;
+            }
+            onDrop.run();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<ItemChangedEvent> batch;
+            boolean resync;
+            boolean heartbeat;
+            synchronized (this) {
+                if (closed || (pending.isEmpty() && !overflowed && !heartbeatDue)) {
+                    draining = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                resync = overflowed;
+                heartbeat = heartbeatDue;
+                overflowed = false;
+                heartbeatDue = false;
+            }
+
+            try {
+                if (resync) {
+                    send(SseEmitter.event().id(Long.toString(sequence.incrementAndGet())).name("resync").data("{}"));
+                }
+                for (ItemChangedEvent event : batch) {
+                    send(SseEmitter.event()
+                            .id(Long.toString(sequence.incrementAndGet()))
+                            .name(event.type().name().toLowerCase())
+                            .data(new ItemEventResponse(event.type().name(), event.itemId(), event.item()), MediaType.APPLICATION_JSON));
+                }
+                if (heartbeat && batch.isEmpty() && !resync) {
+                    send(SseEmitter.event().comment("keepalive"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the emitter and the bus drops us
+                synchronized (this) {
+                    closed = true;
+                    pending.clear();
+                    draining = false;
+                }
+                return;
+            }
+        }
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        sendingSince = System.nanoTime();
+        try {
+            emitter.send(event);
+        } finally {
+            sendingSince = 0;
+        }
+    }
+
+    private boolean matches(DiagnosticStatus status, String model) {
+        return (statuses.isEmpty() || (status != null && statuses.contains(status)))
+                && (vehicleModel == null || vehicleModel.equals(model));
+    }
+}
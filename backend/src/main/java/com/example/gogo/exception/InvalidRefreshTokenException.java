@@ -0,0 +1,8 @@
+package com.example.gogo.exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.gogo.exception;
+
+public class ItemNotFoundException extends RuntimeException {
+
+    public ItemNotFoundException(String message) {
+        super(message);
+    }
+}
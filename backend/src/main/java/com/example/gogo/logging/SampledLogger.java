@@ -0,0 +1,87 @@
+package com.example.gogo.logging;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code limit} messages per key through in each interval and counts the rest. The
+ * suppressed count is reported when the next message for that key is logged. Keys should come
+ * from a small fixed set (e.g. failure reasons).
+ */
+public class SampledLogger {
+
+    private final Logger log;
+    private final int limit;
+    private final long intervalNanos;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public SampledLogger(Logger log, int limit, Duration interval) {
+        this.log = log;
+        this.limit = limit;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    public void warn(String key, String format, Object... args) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = acquire(key);
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed > 0) {
+            log.warn("Suppressed {} similar messages ({})", suppressed, key);
+        }
+        log.warn(format, args);
+    }
+
+    public void error(String key, String format, Object... args) {
+        if (!log.isErrorEnabled()) {
+            return;
+        }
+        long suppressed = acquire(key);
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed > 0) {
+            log.error("Suppressed {} similar messages ({})", suppressed, key);
+        }
+        log.error(format, args);
+    }
+
+    /**
+     * Returns -1 if the message should be dropped, otherwise how many were dropped since the last one logged.
+     */
+    private long acquire(String key) {
+        long now = System.nanoTime();
+        Window window = windows.computeIfAbsent(key, k -> new Window(now));
+        if (now - window.start >= intervalNanos) {
+            synchronized (window) {
+                if (now - window.start >= intervalNanos) {
+                    window.start = now;
+                    window.count.set(0);
+                }
+            }
+        }
+        if (window.count.incrementAndGet() > limit) {
+            window.suppressed.incrementAndGet();
+            return -1;
+        }
+        return window.suppressed.getAndSet(0);
+    }
+
+    private static final class Window {
+        private volatile long start;
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
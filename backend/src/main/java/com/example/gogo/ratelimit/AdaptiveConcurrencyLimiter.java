@@ -0,0 +1,140 @@
+package com.example.gogo.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps requests in flight with a limit that follows latency (AIMD). Each window's average latency
+ * is compared with a baseline, a slow moving average over many windows. The limit shrinks
+ * multiplicatively only when it was actually reached during a window whose latency exceeded the
+ * tolerance; otherwise it grows by one while at least half of it is in use. Requests beyond the
+ * limit are shed instead of queueing behind the slow ones.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    // Weight of one window in the baseline; roughly the last 20 windows dominate it
+    private static final double BASELINE_SMOOTHING = 0.05;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private volatile double baselineNanos;
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder windowCount = new LongAdder();
+    private final LongAdder windowLatency = new LongAdder();
+    private final LongAccumulator windowPeak = new LongAccumulator(Math::max, 0);
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${concurrency-limit.enabled:true}") boolean enabled,
+                                      @Value("${concurrency-limit.initial-limit:100}") int initialLimit,
+                                      @Value("${concurrency-limit.min-limit:10}") int minLimit,
+                                      @Value("${concurrency-limit.max-limit:1000}") int maxLimit,
+                                      @Value("${concurrency-limit.latency-tolerance:2.0}") double latencyTolerance,
+                                      @Value("${concurrency-limit.window:PT1S}") Duration window,
+                                      @Value("${concurrency-limit.min-window-samples:20}") int minWindowSamples) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+        this.limit = initialLimit;
+
+        Gauge.builder("http.server.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("http.server.concurrency.inflight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowPeak.accumulate(current + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot taken by {@link #tryAcquire()}. Only requests with {@code recordLatency}
+     * feed the latency signal; routes whose cost is deliberate (password hashing) should not.
+     */
+    public void release(long latencyNanos, boolean recordLatency) {
+        if (!enabled) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        if (!recordLatency) {
+            return;
+        }
+        windowCount.increment();
+        windowLatency.add(latencyNanos);
+
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowCount.sum() >= minWindowSamples && windowStart.compareAndSet(start, now)) {
+            long count = windowCount.sumThenReset();
+            long latency = windowLatency.sumThenReset();
+            int peak = (int) windowPeak.getThenReset();
+            // Requests still running belong to the next window's concurrency too
+            windowPeak.accumulate(inFlight.get());
+            if (count > 0) {
+                adjust((double) latency / count, peak);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    double getBaselineNanos() {
+        return baselineNanos;
+    }
+
+    private void adjust(double average, int peak) {
+        double baseline = baselineNanos;
+        int current = limit;
+        int next = current;
+        if (baseline > 0 && peak >= current && average > baseline * latencyTolerance) {
+            next = Math.max(minLimit, (int) (current * BACKOFF_RATIO));
+        } else if (peak >= current / 2) {
+            next = Math.min(maxLimit, current + 1);
+        }
+        baselineNanos = baseline == 0 ? average : baseline + (average - baseline) * BASELINE_SMOOTHING;
+
+        if (next != current) {
+            limit = next;
+            log.debug("Concurrency limit {} -> {} (avg {}ms, baseline {}ms, peak {})", current, next,
+                    Math.round(average / 1_000_000), Math.round(baseline / 1_000_000), peak);
+        }
+    }
+}
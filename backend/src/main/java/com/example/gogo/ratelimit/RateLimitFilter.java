@@ -0,0 +1,113 @@
+package com.example.gogo.ratelimit;
+
+import com.example.gogo.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the per-client rate limits and the adaptive concurrency limit to {@code /api/**}.
+ * Sits after the JWT filter so authenticated clients are keyed by subject and everyone else by
+ * remote address. Not a bean: registered only in the security chain, where the subject is known.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Long-lived streams would pin concurrency slots and skew the latency the limit follows
+    private static final String STREAM_PATH = "/api/items/stream";
+
+    private final RateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = path(request);
+        RouteGroup group = RouteGroup.of(request, path);
+
+        long waitNanos = group.isLimitedByFilter() ? rateLimiter.tryAcquire(group, clientKey(request, group)) : 0;
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+            return;
+        }
+
+        if (path.equals(STREAM_PATH)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            Counter.builder("http.server.requests.rejected")
+                    .tag("group", group.getKey())
+                    .tag("reason", "concurrency")
+                    .register(meterRegistry)
+                    .increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded", 1);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // BCrypt makes logins slow by design; their latency says nothing about overload
+            concurrencyLimiter.release(System.nanoTime() - start, group != RouteGroup.LOGIN);
+        }
+    }
+
+    private String clientKey(HttpServletRequest request, RouteGroup group) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!group.isKeyedByAddress() && authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message,
+                        long retryAfterSeconds) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.gogo.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token buckets per route group and client key. Each bucket is a single
+ * theoretical-arrival-time counter (GCRA), so taking a token is one compare-and-set with no lock;
+ * a bucket allows {@code limit} requests at once and refills at {@code limit} per {@code period}.
+ * Buckets that have refilled completely carry no state and are swept. Each group holds at most
+ * {@code max-keys} buckets.
+ */
+@Component
+public class RateLimiter {
+
+    static final long OVERFLOW_SWEEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Map<RouteGroup, Limit> limits = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, ConcurrentHashMap<String, AtomicLong>> buckets = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, AtomicLong> overflow = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> rejections = new EnumMap<>(RouteGroup.class);
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public RateLimiter(Environment environment,
+                       MeterRegistry meterRegistry,
+                       @Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.max-keys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        for (RouteGroup group : RouteGroup.values()) {
+            String prefix = "rate-limit." + group.getKey();
+            int limit = environment.getProperty(prefix + ".limit", Integer.class, group.getDefaultLimit());
+            Duration period = Duration.parse(environment.getProperty(prefix + ".period", group.getDefaultPeriod()));
+            limits.put(group, new Limit(period.toNanos() / limit, period.toNanos() - period.toNanos() / limit));
+
+            ConcurrentHashMap<String, AtomicLong> groupBuckets = new ConcurrentHashMap<>();
+            buckets.put(group, groupBuckets);
+            overflow.put(group, new AtomicLong(System.nanoTime()));
+            rejections.put(group, Counter.builder("http.server.requests.rejected")
+                    .tag("group", group.getKey())
+                    .tag("reason", "rate_limit")
+                    .register(meterRegistry));
+            Gauge.builder("http.server.ratelimit.keys", groupBuckets, Map::size)
+                    .tag("group", group.getKey())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Takes a token for the client. Returns 0 when the request may proceed, otherwise the
+     * nanoseconds until a token is available.
+     */
+    public long tryAcquire(RouteGroup group, String clientKey) {
+        if (!enabled) {
+            return 0;
+        }
+        return tryAcquire(group, clientKey, System.nanoTime());
+    }
+
+    long tryAcquire(RouteGroup group, String clientKey, long now) {
+        Limit limit = limits.get(group);
+        AtomicLong bucket = bucketFor(group, clientKey, now);
+        while (true) {
+            long current = bucket.get();
+            long arrival = current - now < 0 ? now : current;
+            long allowedAt = arrival - limit.tolerance();
+            if (allowedAt - now > 0) {
+                rejections.get(group).increment();
+                return allowedAt - now;
+            }
+            if (bucket.compareAndSet(current, arrival + limit.interval())) {
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:PT1M}")
+    public void sweep() {
+        sweep(System.nanoTime());
+    }
+
+    int size(RouteGroup group) {
+        return buckets.get(group).size();
+    }
+
+    private void sweep(long now) {
+        lastSweep.set(now);
+        for (ConcurrentHashMap<String, AtomicLong> groupBuckets : buckets.values()) {
+            groupBuckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+
+    /**
+     * Finds or creates the client's bucket. A full group is swept at most once per
+     * {@link #OVERFLOW_SWEEP_NANOS}; clients that still find no room share the group's overflow
+     * bucket, so a flood of new keys can neither grow the map nor force a scan on every request.
+     */
+    private AtomicLong bucketFor(RouteGroup group, String clientKey, long now) {
+        ConcurrentHashMap<String, AtomicLong> groupBuckets = buckets.get(group);
+        AtomicLong bucket = groupBuckets.get(clientKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (groupBuckets.size() >= maxKeys) {
+            long last = lastSweep.get();
+            if (now - last >= OVERFLOW_SWEEP_NANOS && lastSweep.compareAndSet(last, now)) {
+                sweep(now);
+            }
+            if (groupBuckets.size() >= maxKeys) {
+                return overflow.get(group);
+            }
+        }
+        return groupBuckets.computeIfAbsent(clientKey, key -> new AtomicLong(now));
+    }
+
+    /**
+     * @param interval  nanoseconds one request adds to the bucket's arrival time
+     * @param tolerance how far ahead of now the arrival time may run, i.e. the burst size minus one
+     */
+    private record Limit(long interval, long tolerance) {
+    }
+}
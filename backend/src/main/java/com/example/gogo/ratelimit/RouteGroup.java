@@ -0,0 +1,73 @@
+package com.example.gogo.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Routes that share a rate limit. Limits are configured under {@code rate-limit.<key>}.
+ */
+public enum RouteGroup {
+    // Login and registration run BCrypt; keyed by client IP since there is no subject yet
+    LOGIN("login", 10, "PT1M"),
+    // Keyed by client IP, so guessing refresh tokens is limited before any lookup; generous
+    // enough for clients sharing an address, since REFRESH_FAMILY limits each session
+    REFRESH("refresh", 30, "PT1M"),
+    // Keyed by refresh-token family in AuthService, once the presented token has been looked up
+    REFRESH_FAMILY("refresh-family", 10, "PT1M"),
+    // Listing, search and export, the database-heavy reads
+    SEARCH("search", 20, "PT1S"),
+    WRITE("write", 20, "PT1S"),
+    DEFAULT("default", 50, "PT1S");
+
+    private final String key;
+    private final int defaultLimit;
+    private final String defaultPeriod;
+
+    RouteGroup(String key, int defaultLimit, String defaultPeriod) {
+        this.key = key;
+        this.defaultLimit = defaultLimit;
+        this.defaultPeriod = defaultPeriod;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Whether the filter limits this group; otherwise the service applies the limit itself.
+     */
+    boolean isLimitedByFilter() {
+        return this != REFRESH_FAMILY;
+    }
+
+    /**
+     * Whether the filter keys this group by client IP even for authenticated requests.
+     */
+    boolean isKeyedByAddress() {
+        return this == LOGIN || this == REFRESH;
+    }
+
+    int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    String getDefaultPeriod() {
+        return defaultPeriod;
+    }
+
+    static RouteGroup of(HttpServletRequest request, String path) {
+        if (path.equals("/api/auth/login") || path.equals("/api/auth/register")) {
+            return LOGIN;
+        }
+        if (path.equals("/api/auth/refresh")) {
+            return REFRESH;
+        }
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        if (!read) {
+            return WRITE;
+        }
+        if (path.equals("/api/items") || path.equals("/api/items/export")) {
+            return SEARCH;
+        }
+        return DEFAULT;
+    }
+}
@@ -1,20 +1,124 @@
 package com.example.gogo.repository;
 
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.dto.ItemWatermark;
 import com.example.gogo.entity.Item;
 import com.example.gogo.entity.User;
+import com.example.gogo.stats.MetricAggregate;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
+    String RESPONSE_PROJECTION = "SELECT new com.example.gogo.dto.ItemResponse(" +
+            "i.id, i.title, i.description, i.vin, i.chassisNumber, i.vehicleModel, i.modelYear, " +
+            "i.rpm, i.engineTemp, i.mileage, i.diagnosticDate, i.status, i.technician, i.engineType, " +
+            "i.createdAt, i.updatedAt, i.version) ";
+
     Page<Item> findByUser(User user, Pageable pageable);
 
     @Query("SELECT i FROM Item i WHERE i.user = :user AND (i.title LIKE %:search% OR i.description LIKE %:search%)")
     Page<Item> findByUserAndSearch(@Param("user") User user, @Param("search") String search, Pageable pageable);
 
     Page<Item> findByTitleContainingOrDescriptionContaining(String titleSearch, String descriptionSearch, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query(value = RESPONSE_PROJECTION + "FROM Item i", countQuery = "SELECT COUNT(i) FROM Item i")
+    Page<ItemResponse> findAllResponses(Pageable pageable);
+
+    @Query(RESPONSE_PROJECTION + "FROM Item i WHERE i.id = :id")
+    Optional<ItemResponse> findResponseById(@Param("id") Long id);
+
+    @Query(value = RESPONSE_PROJECTION + "FROM Item i WHERE i.title LIKE %:search% OR i.description LIKE %:search%",
+            countQuery = "SELECT COUNT(i) FROM Item i WHERE i.title LIKE %:search% OR i.description LIKE %:search%")
+    Page<ItemResponse> searchResponses(@Param("search") String search, Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(RESPONSE_PROJECTION + "FROM Item i ORDER BY i.id")
+    Stream<ItemResponse> streamAllResponses();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(RESPONSE_PROJECTION + "FROM Item i WHERE i.title LIKE %:search% OR i.description LIKE %:search% ORDER BY i.id")
+    Stream<ItemResponse> streamSearchResponses(@Param("search") String search);
+
+    @Query("SELECT i.version FROM Item i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // i.user.id reads the foreign key column; the users table is not joined
+    @Query("SELECT new com.example.gogo.repository.ItemWriteState(i.user.id, i.version, i.createdAt, " +
+            "i.status, i.vehicleModel, i.engineType, i.rpm, i.engineTemp, i.mileage) FROM Item i WHERE i.id = :id")
+    Optional<ItemWriteState> findWriteStateById(@Param("id") Long id);
+
+    // Both writes are guarded by owner and version, so a concurrent change makes them match no row
+    @Modifying
+    @Query("UPDATE Item i SET i.title = :#{#item.title}, i.description = :#{#item.description}, " +
+            "i.vin = :#{#item.vin}, i.chassisNumber = :#{#item.chassisNumber}, i.vehicleModel = :#{#item.vehicleModel}, " +
+            "i.modelYear = :#{#item.modelYear}, i.rpm = :#{#item.rpm}, i.engineTemp = :#{#item.engineTemp}, " +
+            "i.mileage = :#{#item.mileage}, i.diagnosticDate = :#{#item.diagnosticDate}, i.status = :#{#item.status}, " +
+            "i.technician = :#{#item.technician}, i.engineType = :#{#item.engineType}, " +
+            "i.updatedAt = :#{#item.updatedAt}, i.version = :#{#item.version} " +
+            "WHERE i.id = :#{#item.id} AND i.user.id = :userId AND i.version = :expectedVersion")
+    int updateOwned(@Param("item") Item item, @Param("userId") Long userId, @Param("expectedVersion") Long expectedVersion);
+
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.id = :id AND i.user.id = :userId AND i.version = :version")
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version);
+
+    // Both aggregates can be answered by a scan of idx_items_updated_at rather than the table
+    @Query("SELECT new com.example.gogo.dto.ItemWatermark(COUNT(i), MAX(i.updatedAt)) FROM Item i")
+    ItemWatermark findWatermark();
+
+    @Query("SELECT i.vin FROM Item i WHERE i.id = :id AND i.vin IS NOT NULL")
+    Optional<String> findVinById(@Param("id") Long id);
+
+    // Creation order, as the search index assigns its ordinals
+    @Query("SELECT i FROM Item i ORDER BY i.createdAt, i.id")
+    List<Item> findFirstIndexPage(Pageable limit);
+
+    @Query("SELECT i FROM Item i WHERE i.createdAt > :createdAt OR (i.createdAt = :createdAt AND i.id > :id) " +
+            "ORDER BY i.createdAt, i.id")
+    List<Item> findIndexPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    @Query(RESPONSE_PROJECTION + "FROM Item i WHERE i.id IN :ids")
+    List<ItemResponse> findResponsesByIdIn(@Param("ids") List<Long> ids);
+
+    @Query(RESPONSE_PROJECTION + "FROM Item i ORDER BY i.createdAt DESC, i.id DESC")
+    List<ItemResponse> findFirstKeysetPage(Pageable limit);
+
+    @Query(RESPONSE_PROJECTION + "FROM Item i WHERE i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<ItemResponse> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT i.status, COUNT(i) FROM Item i WHERE i.status IS NOT NULL GROUP BY i.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT i.engineType, COUNT(i) FROM Item i WHERE i.engineType IS NOT NULL GROUP BY i.engineType")
+    List<Object[]> countByEngineType();
+
+    @Query("SELECT i.vehicleModel, COUNT(i), COUNT(i.engineTemp), SUM(i.engineTemp) FROM Item i " +
+            "WHERE i.vehicleModel IS NOT NULL GROUP BY i.vehicleModel")
+    List<Object[]> countByVehicleModel();
+
+    @Query("SELECT new com.example.gogo.stats.MetricAggregate(COUNT(i.rpm), SUM(i.rpm), MIN(i.rpm), MAX(i.rpm)) FROM Item i")
+    MetricAggregate aggregateRpm();
+
+    @Query("SELECT new com.example.gogo.stats.MetricAggregate(COUNT(i.engineTemp), SUM(i.engineTemp), MIN(i.engineTemp), MAX(i.engineTemp)) FROM Item i")
+    MetricAggregate aggregateEngineTemp();
+
+    @Query("SELECT new com.example.gogo.stats.MetricAggregate(COUNT(i.mileage), SUM(i.mileage), MIN(i.mileage), MAX(i.mileage)) FROM Item i")
+    MetricAggregate aggregateMileage();
+}
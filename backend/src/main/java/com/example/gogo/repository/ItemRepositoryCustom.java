@@ -0,0 +1,12 @@
+package com.example.gogo.repository;
+
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.Item;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ItemRepositoryCustom {
+
+    Page<ItemResponse> findResponses(Specification<Item> specification, Pageable pageable);
+}
@@ -0,0 +1,68 @@
+package com.example.gogo.repository;
+
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.Item;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Selects straight into {@link ItemResponse} for the given specification. The count query
+     * only runs when the page is full or not the first one.
+     */
+    @Override
+    public Page<ItemResponse> findResponses(Specification<Item> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ItemResponse> query = cb.createQuery(ItemResponse.class);
+        Root<Item> item = query.from(Item.class);
+
+        query.select(cb.construct(ItemResponse.class,
+                item.get("id"), item.get("title"), item.get("description"), item.get("vin"),
+                item.get("chassisNumber"), item.get("vehicleModel"), item.get("modelYear"), item.get("rpm"),
+                item.get("engineTemp"), item.get("mileage"), item.get("diagnosticDate"), item.get("status"),
+                item.get("technician"), item.get("engineType"), item.get("createdAt"), item.get("updatedAt"), item.get("version")));
+        Predicate predicate = specification.toPredicate(item, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), item, cb));
+
+        TypedQuery<ItemResponse> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<ItemResponse> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Item> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Item> item = query.from(Item.class);
+
+        query.select(cb.count(item));
+        Predicate predicate = specification.toPredicate(item, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
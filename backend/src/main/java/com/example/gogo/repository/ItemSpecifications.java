@@ -0,0 +1,63 @@
+package com.example.gogo.repository;
+
+import com.example.gogo.dto.ItemFilter;
+import com.example.gogo.entity.Item;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ItemSpecifications {
+
+    private ItemSpecifications() {
+    }
+
+    /**
+     * ANDs every populated filter field (and the optional free-text term) into one predicate.
+     */
+    public static Specification<Item> matching(ItemFilter filter, String search) {
+        return (item, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                predicates.add(item.get("status").in(filter.getStatus()));
+            }
+            if (filter.getVehicleModel() != null && !filter.getVehicleModel().isEmpty()) {
+                predicates.add(cb.equal(item.get("vehicleModel"), filter.getVehicleModel()));
+            }
+            if (filter.getEngineType() != null) {
+                predicates.add(cb.equal(item.get("engineType"), filter.getEngineType()));
+            }
+            if (filter.getModelYear() != null) {
+                predicates.add(cb.equal(item.get("modelYear"), filter.getModelYear()));
+            }
+            addRange(cb, predicates, item.get("rpm"), filter.getMinRpm(), filter.getMaxRpm());
+            addRange(cb, predicates, item.get("engineTemp"), filter.getMinEngineTemp(), filter.getMaxEngineTemp());
+            addRange(cb, predicates, item.get("mileage"), filter.getMinMileage(), filter.getMaxMileage());
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(item.get("diagnosticDate"), filter.getStartDate().atStartOfDay()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThan(item.get("diagnosticDate"), filter.getEndDate().plusDays(1).atStartOfDay()));
+            }
+            if (search != null && !search.isEmpty()) {
+                String pattern = "%" + search + "%";
+                predicates.add(cb.or(cb.like(item.get("title"), pattern), cb.like(item.get("description"), pattern)));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static void addRange(CriteriaBuilder cb, List<Predicate> predicates, Path<Integer> path, Integer min, Integer max) {
+        if (min != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, min));
+        }
+        if (max != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, max));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.gogo.repository;
+
+import com.example.gogo.entity.ItemStatsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ItemStatsSnapshotRepository extends JpaRepository<ItemStatsSnapshot, Long> {
+
+    Optional<ItemStatsSnapshot> findFirstByOrderByTakenAtDesc();
+
+    @Modifying
+    @Query("DELETE FROM ItemStatsSnapshot s WHERE s.takenAt < :before")
+    int deleteTakenBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,20 @@
+package com.example.gogo.repository;
+
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
+import com.example.gogo.stats.ItemStatistics;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a write needs to know about the row it replaces: the owner and version to guard the
+ * statement with, the creation time for the response, and the values the rollups subtract.
+ */
+public record ItemWriteState(Long ownerId, Long version, LocalDateTime createdAt,
+                             DiagnosticStatus status, String vehicleModel, EngineType engineType,
+                             Integer rpm, Integer engineTemp, Integer mileage) {
+
+    public ItemStatistics.Sample toSample() {
+        return new ItemStatistics.Sample(status, vehicleModel, engineType, rpm, engineTemp, mileage);
+    }
+}
@@ -2,14 +2,49 @@ package com.example.gogo.repository;
 
 import com.example.gogo.entity.RefreshToken;
 import com.example.gogo.entity.User;
+import com.example.gogo.token.StoredRefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
     void deleteByUser(User user);
-    void deleteByToken(String token);
+
+    @Query("SELECT new com.example.gogo.token.StoredRefreshToken(r.tokenHash, r.familyId, u.id, u.username, u.email, r.expiresAt, r.revoked) " +
+            "FROM RefreshToken r JOIN r.user u WHERE r.tokenHash = :tokenHash")
+    Optional<StoredRefreshToken> findStoredByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true, r.revokedAt = :now WHERE r.tokenHash = :tokenHash")
+    int revokeByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true, r.revokedAt = :now " +
+            "WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true, r.revokedAt = :now WHERE r.revoked = false AND r.familyId = " +
+            "(SELECT t.familyId FROM RefreshToken t WHERE t.tokenHash = :tokenHash)")
+    int revokeFamilyOfToken(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
+
+    // Separate queries rather than one OR, so each is a range scan on its own index
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.expiresAt < :now")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable limit);
+
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.revokedAt < :revokedBefore")
+    List<Long> findRevokedIds(@Param("revokedBefore") LocalDateTime revokedBefore, Pageable limit);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.gogo.repository;
+
+import com.example.gogo.entity.TelemetryChunk;
+import com.example.gogo.telemetry.Resolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface TelemetryChunkRepository extends JpaRepository<TelemetryChunk, Long> {
+
+    // Chunks still within retention that are recent, or the newest of their series (the open one)
+    @Query("SELECT c FROM TelemetryChunk c WHERE c.resolution = :resolution AND c.endBucket >= :retainedFrom " +
+            "AND (c.endBucket >= :residentFrom OR c.startBucket = (SELECT MAX(l.startBucket) FROM TelemetryChunk l " +
+            "WHERE l.vin = c.vin AND l.resolution = c.resolution))")
+    Stream<TelemetryChunk> streamResident(@Param("resolution") Resolution resolution,
+                                          @Param("retainedFrom") Long retainedFrom,
+                                          @Param("residentFrom") Long residentFrom);
+
+    @Query("SELECT c FROM TelemetryChunk c WHERE c.vin = :vin AND c.resolution = :resolution " +
+            "AND c.endBucket >= :fromBucket AND c.startBucket < :toBucket ORDER BY c.startBucket")
+    List<TelemetryChunk> findRange(@Param("vin") String vin, @Param("resolution") Resolution resolution,
+                                   @Param("fromBucket") Long fromBucket, @Param("toBucket") Long toBucket);
+
+    @Modifying
+    @Query("UPDATE TelemetryChunk c SET c.endBucket = :endBucket, c.bucketCount = :bucketCount, c.payload = :payload " +
+            "WHERE c.id = :id")
+    int updatePayload(@Param("id") Long id, @Param("endBucket") Long endBucket,
+                      @Param("bucketCount") Integer bucketCount, @Param("payload") byte[] payload);
+
+    @Modifying
+    @Query("DELETE FROM TelemetryChunk c WHERE c.resolution = :resolution AND c.endBucket < :cutoff")
+    int deleteExpired(@Param("resolution") Resolution resolution, @Param("cutoff") Long cutoff);
+}
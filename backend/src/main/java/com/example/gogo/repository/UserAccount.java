@@ -0,0 +1,8 @@
+package com.example.gogo.repository;
+
+/**
+ * The id, username, email and password hash of a user. This is what the username cache holds: unlike a
+ * {@link com.example.gogo.entity.User} entity it cannot be changed in place by whoever read it.
+ */
+public record UserAccount(Long id, String username, String email, String passwordHash) {
+}
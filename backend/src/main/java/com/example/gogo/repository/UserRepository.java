@@ -1,13 +1,20 @@
 package com.example.gogo.repository;
 
+import com.example.gogo.config.CacheConfig;
 import com.example.gogo.entity.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_USERNAME, unless = "#result == null")
+    @Query("SELECT new com.example.gogo.repository.UserAccount(u.id, u.username, u.email, u.password) FROM User u WHERE u.username = :username")
+    Optional<UserAccount> findAccountByUsername(@Param("username") String username);
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
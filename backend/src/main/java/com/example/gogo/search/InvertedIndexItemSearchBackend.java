@@ -0,0 +1,222 @@
+package com.example.gogo.search;
+
+import com.example.gogo.dto.ItemFilter;
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.Item;
+import com.example.gogo.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over the searchable text and structured fields of {@link Item}; see
+ * {@link SearchIndex}. Query terms are ANDed and matched exactly or (from
+ * {@value SearchIndex#MIN_PREFIX_LENGTH} characters) as a prefix. A page sorted by createdAt is
+ * read in index order, and an unsorted page is ranked by relevance. The structured filter is
+ * checked against the index's own columns, so a page costs one query to load its rows.
+ * <p>
+ * Index order is the order items were added: the table in (createdAt, id) order at rebuild,
+ * then commit order. Two writers committing out of createdAt order swap places in index order
+ * until the next rebuild.
+ */
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "index", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InvertedIndexItemSearchBackend implements ItemSearchBackend {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private SearchIndex index = new SearchIndex();
+    // Changes committed while a rebuild is reading the table; replayed onto the new index. Guarded by lock
+    private List<Consumer<SearchIndex>> changedDuringRebuild;
+
+    /**
+     * Reads the table in creation order into a fresh index without holding the lock, then replays
+     * the changes committed meanwhile and swaps it in. Searches keep using the old index until then.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                log.info("Search index rebuild already running");
+                return;
+            }
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SearchIndex fresh = new SearchIndex();
+        try {
+            Pageable batchSize = PageRequest.of(0, REBUILD_BATCH_SIZE);
+            List<Item> batch = itemRepository.findFirstIndexPage(batchSize);
+            while (!batch.isEmpty()) {
+                batch.forEach(fresh::put);
+                if (batch.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+                Item last = batch.get(batch.size() - 1);
+                batch = itemRepository.findIndexPageAfter(last.getCreatedAt(), last.getId(), batchSize);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach(change -> change.accept(fresh));
+            changedDuringRebuild = null;
+            index = fresh;
+            log.info("Search index built: {} items, {} tokens", fresh.size(), fresh.tokenCount());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<ItemResponse> search(String query, ItemFilter filter, Pageable pageable) {
+        List<String> terms = SearchIndex.queryTerms(query);
+        if (terms.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        SearchIndex.Hits hits;
+        lock.readLock().lock();
+        try {
+            IntPredicate matcher = index.matcher(filter);
+            if (pageable.getSort().isSorted()) {
+                hits = index.ordered(terms, matcher, newestFirst(pageable.getSort()), pageable.getOffset(), pageable.getPageSize());
+            } else {
+                hits = index.ranked(terms, matcher, pageable.getOffset(), pageable.getPageSize());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new PageImpl<>(load(hits.itemIds()), pageable, hits.total());
+    }
+
+    /**
+     * Index order is creation order, so createdAt (with id as the tiebreak) is the only sort a
+     * page can be read in without sorting the matches.
+     */
+    private static boolean newestFirst(Sort sort) {
+        Sort.Order createdAt = sort.getOrderFor("createdAt");
+        if (createdAt == null || !sort.stream().allMatch(order -> order.getProperty().equals("createdAt")
+                || (order.getProperty().equals("id") && order.getDirection() == createdAt.getDirection()))) {
+            throw new IllegalArgumentException("Search results can only be sorted by createdAt, not " + sort);
+        }
+        return createdAt.isDescending();
+    }
+
+    /**
+     * Loads the page's rows in one query and returns them in the order of the ids. Rows deleted
+     * since the index was read are left out.
+     */
+    private List<ItemResponse> load(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, ItemResponse> loaded = new HashMap<>();
+        itemRepository.findResponsesByIdIn(Arrays.stream(ids).boxed().toList())
+                .forEach(item -> loaded.put(item.getId(), item));
+
+        List<ItemResponse> content = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            ItemResponse item = loaded.get(id);
+            if (item != null) {
+                content.add(item);
+            }
+        }
+        return content;
+    }
+
+    @Override
+    public Stream<ItemResponse> stream(String query) {
+        List<String> terms = SearchIndex.queryTerms(query);
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = terms.isEmpty() ? new long[0] : index.allItemIds(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int chunks = (ids.length + STREAM_CHUNK_SIZE - 1) / STREAM_CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .mapToObj(chunk -> Arrays.stream(ids, chunk * STREAM_CHUNK_SIZE, Math.min(ids.length, (chunk + 1) * STREAM_CHUNK_SIZE))
+                        .boxed()
+                        .toList())
+                .flatMap(chunkIds -> itemRepository.findResponsesByIdIn(chunkIds).stream()
+                        .sorted(Comparator.comparing(ItemResponse::getId)));
+    }
+
+    @Override
+    public void index(Item item) {
+        afterCommit(() -> apply(target -> target.put(item)));
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        afterCommit(() -> apply(target -> target.remove(itemId)));
+    }
+
+    private void apply(Consumer<SearchIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.gogo.search;
+
+import com.example.gogo.dto.ItemFilter;
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.Item;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+public interface ItemSearchBackend {
+
+    /**
+     * Finds items matching the query and, unless it is null or empty, the structured filter.
+     * The query means the same with or without a filter.
+     */
+    Page<ItemResponse> search(String query, ItemFilter filter, Pageable pageable);
+
+    /**
+     * Streams every match in id order. Must be consumed inside a transaction and closed.
+     */
+    Stream<ItemResponse> stream(String query);
+
+    default void index(Item item) {
+    }
+
+    default void remove(Long itemId) {
+    }
+}
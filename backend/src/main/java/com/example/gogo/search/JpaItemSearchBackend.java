@@ -0,0 +1,35 @@
+package com.example.gogo.search;
+
+import com.example.gogo.dto.ItemFilter;
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.repository.ItemRepository;
+import com.example.gogo.repository.ItemSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(name = "search.backend", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaItemSearchBackend implements ItemSearchBackend {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Page<ItemResponse> search(String query, ItemFilter filter, Pageable pageable) {
+        if (filter == null || filter.isEmpty()) {
+            return itemRepository.searchResponses(query, pageable);
+        }
+        // The specification applies the same title/description LIKE as searchResponses
+        return itemRepository.findResponses(ItemSpecifications.matching(filter, query), pageable);
+    }
+
+    @Override
+    public Stream<ItemResponse> stream(String query) {
+        return itemRepository.streamSearchResponses(query);
+    }
+}
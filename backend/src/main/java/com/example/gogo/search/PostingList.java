@@ -0,0 +1,82 @@
+package com.example.gogo.search;
+
+import java.util.Arrays;
+
+/**
+ * The documents that contain one token: index ordinals in ascending order, each with the
+ * token's field weight in that document. Ordinals follow creation order, so a new item is an
+ * append and a page in either direction reads straight off one end. Not thread-safe;
+ * {@link SearchIndex} guards it.
+ */
+final class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final String term;
+    private int[] ordinals = new int[INITIAL_CAPACITY];
+    private byte[] weights = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    PostingList(String term) {
+        this.term = term;
+    }
+
+    String term() {
+        return term;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int ordinalAt(int position) {
+        return ordinals[position];
+    }
+
+    /**
+     * The token's weight in the document, or 0 when the document does not contain it.
+     */
+    int weight(int ordinal) {
+        int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        return position >= 0 ? weights[position] : 0;
+    }
+
+    void put(int ordinal, int weight) {
+        if (size == 0 || ordinals[size - 1] < ordinal) {
+            insertAt(size, ordinal, weight);
+            return;
+        }
+        int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (position >= 0) {
+            weights[position] = (byte) weight;
+        } else {
+            insertAt(-position - 1, ordinal, weight);
+        }
+    }
+
+    void remove(int ordinal) {
+        int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+        System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+        size--;
+    }
+
+    private void insertAt(int position, int ordinal, int weight) {
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+            weights = Arrays.copyOf(weights, size * 2);
+        }
+        System.arraycopy(ordinals, position, ordinals, position + 1, size - position);
+        System.arraycopy(weights, position, weights, position + 1, size - position);
+        ordinals[position] = ordinal;
+        weights[position] = (byte) weight;
+        size++;
+    }
+}
@@ -0,0 +1,528 @@
+package com.example.gogo.search;
+
+import com.example.gogo.dto.ItemFilter;
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.Item;
+import com.example.gogo.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * Token postings plus the structured columns the list filter reads, for every indexed item.
+ * Each item gets an ordinal when first added; items are added in creation order, so ordinal
+ * order is newest-last and a creation-ordered page is a walk from one end of the postings.
+ * Columns are primitive arrays indexed by ordinal. Ordinals of deleted items are not reused
+ * until the next rebuild. Not thread-safe; {@link InvertedIndexItemSearchBackend} guards it.
+ */
+final class SearchIndex {
+
+    // Shorter terms only match whole tokens; a VIN-style prefix would otherwise expand to most of the index
+    static final int MIN_PREFIX_LENGTH = 3;
+    static final int MAX_PREFIX_EXPANSIONS = 100;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_ORDINAL = -1;
+    // Stored for a null integer column; no validated reading takes this value
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final PostingList[] NO_TERMS = new PostingList[0];
+
+    private static final List<WeightedField> FIELDS = List.of(
+            new WeightedField(Item::getVin, 4),
+            new WeightedField(Item::getChassisNumber, 4),
+            new WeightedField(Item::getVehicleModel, 3),
+            new WeightedField(Item::getTechnician, 3),
+            new WeightedField(Item::getTitle, 2),
+            new WeightedField(Item::getDescription, 1)
+    );
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final LongIntHashMap ordinals = new LongIntHashMap();
+    // Distinct vehicle model strings, so each document column entry is a shared reference
+    private final Map<String, String> vehicleModelNames = new HashMap<>();
+
+    private long[] itemIds = new long[INITIAL_CAPACITY];
+    private PostingList[][] terms = new PostingList[INITIAL_CAPACITY][];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private byte[] engineTypes = new byte[INITIAL_CAPACITY];
+    private String[] vehicleModels = new String[INITIAL_CAPACITY];
+    private int[] modelYears = new int[INITIAL_CAPACITY];
+    private int[] rpms = new int[INITIAL_CAPACITY];
+    private int[] engineTemps = new int[INITIAL_CAPACITY];
+    private int[] mileages = new int[INITIAL_CAPACITY];
+    private long[] diagnosticDates = new long[INITIAL_CAPACITY];
+    private int nextOrdinal;
+
+    int size() {
+        return ordinals.size();
+    }
+
+    int tokenCount() {
+        return postings.size();
+    }
+
+    /**
+     * Adds the item, or replaces its tokens and columns if it is already indexed. An existing item
+     * keeps its ordinal (creation time never changes), and only the postings whose tokens were
+     * added or dropped move.
+     */
+    void put(Item item) {
+        int ordinal = ordinals.get(item.getId(), NO_ORDINAL);
+        if (ordinal == NO_ORDINAL) {
+            ordinal = nextOrdinal++;
+            ensureCapacity(nextOrdinal);
+            ordinals.put(item.getId(), ordinal);
+            itemIds[ordinal] = item.getId();
+            terms[ordinal] = NO_TERMS;
+        }
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (WeightedField field : FIELDS) {
+            for (String token : tokenize(field.extractor().apply(item))) {
+                weights.merge(token, field.weight(), Integer::sum);
+            }
+        }
+        for (PostingList posting : terms[ordinal]) {
+            if (!weights.containsKey(posting.term())) {
+                removePosting(posting, ordinal);
+            }
+        }
+        PostingList[] updated = new PostingList[weights.size()];
+        int next = 0;
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            PostingList posting = postings.computeIfAbsent(weight.getKey(), PostingList::new);
+            posting.put(ordinal, weight.getValue());
+            updated[next++] = posting;
+        }
+        terms[ordinal] = updated;
+
+        statuses[ordinal] = item.getStatus() != null ? (byte) item.getStatus().getCode() : 0;
+        engineTypes[ordinal] = item.getEngineType() != null ? (byte) item.getEngineType().getCode() : 0;
+        vehicleModels[ordinal] = item.getVehicleModel() != null
+                ? vehicleModelNames.computeIfAbsent(item.getVehicleModel(), Function.identity())
+                : null;
+        modelYears[ordinal] = orNone(item.getModelYear());
+        rpms[ordinal] = orNone(item.getRpm());
+        engineTemps[ordinal] = orNone(item.getEngineTemp());
+        mileages[ordinal] = orNone(item.getMileage());
+        diagnosticDates[ordinal] = item.getDiagnosticDate() != null ? micros(item.getDiagnosticDate()) : NO_DATE;
+    }
+
+    void remove(long itemId) {
+        int ordinal = ordinals.remove(itemId, NO_ORDINAL);
+        if (ordinal == NO_ORDINAL) {
+            return;
+        }
+        for (PostingList posting : terms[ordinal]) {
+            removePosting(posting, ordinal);
+        }
+        terms[ordinal] = null;
+        vehicleModels[ordinal] = null;
+    }
+
+    /**
+     * One page of the matches in creation order, newest first unless asked otherwise, with the
+     * total number of matches.
+     */
+    Hits ordered(List<String> queryTerms, IntPredicate filter, boolean newestFirst, long offset, int size) {
+        List<Term> terms = resolve(queryTerms);
+        if (terms.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        Term driver = terms.get(0);
+        // A single exact token without a filter knows its total up front, so the walk stops at the page
+        boolean totalKnown = terms.size() == 1 && driver.lists.length == 1 && filter == null;
+
+        long end = offset + size;
+        long[] page = new long[(int) Math.min(size, driver.estimate)];
+        int pageSize = 0;
+        long matched = 0;
+        Cursor cursor = driver.cursor(newestFirst);
+        for (int ordinal = cursor.next(); ordinal != NO_ORDINAL; ordinal = cursor.next()) {
+            if (!matchesAll(terms, ordinal) || (filter != null && !filter.test(ordinal))) {
+                continue;
+            }
+            if (matched >= offset && matched < end) {
+                page[pageSize++] = itemIds[ordinal];
+            }
+            matched++;
+            if (totalKnown && matched >= end) {
+                break;
+            }
+        }
+        return new Hits(Arrays.copyOf(page, pageSize), totalKnown ? driver.estimate : matched);
+    }
+
+    /**
+     * One page of the matches by relevance: the summed field weights of every query term, exact
+     * tokens counting double, newer items first on ties. Scores every match, so its cost grows
+     * with the number of hits.
+     */
+    Hits ranked(List<String> queryTerms, IntPredicate filter, long offset, int size) {
+        List<Term> terms = resolve(queryTerms);
+        if (terms.isEmpty()) {
+            return Hits.EMPTY;
+        }
+
+        // Score in the high half, ordinal in the low half: larger means better ranked
+        long end = offset + size;
+        PriorityQueue<Long> best = new PriorityQueue<>();
+        long matched = 0;
+        Cursor cursor = terms.get(0).cursor(true);
+        for (int ordinal = cursor.next(); ordinal != NO_ORDINAL; ordinal = cursor.next()) {
+            int score = 0;
+            for (Term term : terms) {
+                int weight = term.weight(ordinal);
+                if (weight == 0) {
+                    score = 0;
+                    break;
+                }
+                score += weight;
+            }
+            if (score == 0 || (filter != null && !filter.test(ordinal))) {
+                continue;
+            }
+            matched++;
+            best.offer(((long) score << 32) | ordinal);
+            if (best.size() > end) {
+                best.poll();
+            }
+        }
+
+        int pageSize = (int) Math.max(0, best.size() - offset);
+        long[] page = new long[pageSize];
+        for (int i = pageSize - 1; i >= 0; i--) {
+            page[i] = itemIds[(int) (best.poll() & 0xFFFFFFFFL)];
+        }
+        return new Hits(page, matched);
+    }
+
+    /**
+     * Ids of every match, in ascending id order.
+     */
+    long[] allItemIds(List<String> queryTerms) {
+        List<Term> terms = resolve(queryTerms);
+        if (terms.isEmpty()) {
+            return new long[0];
+        }
+        long[] ids = new long[(int) terms.get(0).estimate];
+        int count = 0;
+        Cursor cursor = terms.get(0).cursor(false);
+        for (int ordinal = cursor.next(); ordinal != NO_ORDINAL; ordinal = cursor.next()) {
+            if (matchesAll(terms, ordinal)) {
+                ids[count++] = itemIds[ordinal];
+            }
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * The structured filter as a test on ordinals, with the semantics of
+     * {@link com.example.gogo.repository.ItemSpecifications#matching}; null when nothing is set.
+     */
+    IntPredicate matcher(ItemFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        List<IntPredicate> checks = new ArrayList<>();
+        if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+            boolean[] accepted = new boolean[Byte.MAX_VALUE + 1];
+            for (DiagnosticStatus status : filter.getStatus()) {
+                accepted[status.getCode()] = true;
+            }
+            checks.add(ordinal -> statuses[ordinal] != 0 && accepted[statuses[ordinal]]);
+        }
+        if (filter.getVehicleModel() != null && !filter.getVehicleModel().isEmpty()) {
+            String vehicleModel = filter.getVehicleModel();
+            checks.add(ordinal -> vehicleModel.equals(vehicleModels[ordinal]));
+        }
+        if (filter.getEngineType() != null) {
+            byte engineType = (byte) filter.getEngineType().getCode();
+            checks.add(ordinal -> engineTypes[ordinal] == engineType);
+        }
+        if (filter.getModelYear() != null) {
+            int modelYear = filter.getModelYear();
+            checks.add(ordinal -> modelYears[ordinal] == modelYear);
+        }
+        addRange(checks, rpms, filter.getMinRpm(), filter.getMaxRpm());
+        addRange(checks, engineTemps, filter.getMinEngineTemp(), filter.getMaxEngineTemp());
+        addRange(checks, mileages, filter.getMinMileage(), filter.getMaxMileage());
+        if (filter.getStartDate() != null) {
+            long from = micros(filter.getStartDate().atStartOfDay());
+            checks.add(ordinal -> diagnosticDates[ordinal] != NO_DATE && diagnosticDates[ordinal] >= from);
+        }
+        if (filter.getEndDate() != null) {
+            long until = micros(filter.getEndDate().plusDays(1).atStartOfDay());
+            checks.add(ordinal -> diagnosticDates[ordinal] != NO_DATE && diagnosticDates[ordinal] < until);
+        }
+        return checks.stream().reduce(IntPredicate::and).orElse(null);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static List<String> queryTerms(String query) {
+        return new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+    }
+
+    /**
+     * Looks up every query term, smallest first so it can drive the walk. Empty when some term
+     * matches nothing.
+     */
+    private List<Term> resolve(List<String> queryTerms) {
+        List<Term> resolved = new ArrayList<>(queryTerms.size());
+        for (String queryTerm : queryTerms) {
+            Term term = term(queryTerm);
+            if (term.lists.length == 0) {
+                return List.of();
+            }
+            resolved.add(term);
+        }
+        resolved.sort((a, b) -> Long.compare(a.estimate, b.estimate));
+        return resolved;
+    }
+
+    /**
+     * The exact token (weighted double) and, from {@value #MIN_PREFIX_LENGTH} characters, every
+     * longer token it is a prefix of. A prefix with more than {@value #MAX_PREFIX_EXPANSIONS}
+     * expansions is rejected rather than silently cut, which would drop matches from the page
+     * and the total.
+     */
+    private Term term(String queryTerm) {
+        List<PostingList> lists = new ArrayList<>();
+        List<Integer> multipliers = new ArrayList<>();
+        PostingList exact = postings.get(queryTerm);
+        if (exact != null) {
+            lists.add(exact);
+            multipliers.add(2);
+        }
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (PostingList posting
+                    : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).values()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    throw new BadRequestException("Search term '" + queryTerm + "' matches more than "
+                            + MAX_PREFIX_EXPANSIONS + " words; use a longer term");
+                }
+                lists.add(posting);
+                multipliers.add(1);
+            }
+        }
+        return new Term(lists.toArray(PostingList[]::new), multipliers.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static boolean matchesAll(List<Term> terms, int ordinal) {
+        // The first term drives the walk, so only the others need checking
+        for (int i = 1; i < terms.size(); i++) {
+            if (terms.get(i).weight(ordinal) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removePosting(PostingList posting, int ordinal) {
+        posting.remove(ordinal);
+        if (posting.isEmpty()) {
+            postings.remove(posting.term());
+        }
+    }
+
+    private void addRange(List<IntPredicate> checks, int[] column, Integer min, Integer max) {
+        if (min != null) {
+            int bound = min;
+            checks.add(ordinal -> column[ordinal] != NONE && column[ordinal] >= bound);
+        }
+        if (max != null) {
+            int bound = max;
+            checks.add(ordinal -> column[ordinal] != NONE && column[ordinal] <= bound);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= itemIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, itemIds.length * 2);
+        itemIds = Arrays.copyOf(itemIds, grown);
+        terms = Arrays.copyOf(terms, grown);
+        statuses = Arrays.copyOf(statuses, grown);
+        engineTypes = Arrays.copyOf(engineTypes, grown);
+        vehicleModels = Arrays.copyOf(vehicleModels, grown);
+        modelYears = Arrays.copyOf(modelYears, grown);
+        rpms = Arrays.copyOf(rpms, grown);
+        engineTemps = Arrays.copyOf(engineTemps, grown);
+        mileages = Arrays.copyOf(mileages, grown);
+        diagnosticDates = Arrays.copyOf(diagnosticDates, grown);
+    }
+
+    private static int orNone(Integer value) {
+        return value != null ? value : NONE;
+    }
+
+    // Only compared with each other, so the offset just has to be the same everywhere
+    private static long micros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), dateTime);
+    }
+
+    /**
+     * Item ids of one page and the number of matches on every page.
+     */
+    record Hits(long[] itemIds, long total) {
+        static final Hits EMPTY = new Hits(new long[0], 0);
+    }
+
+    private record WeightedField(Function<Item, String> extractor, int weight) {
+    }
+
+    /**
+     * One query term: the postings it matches, each with its weight multiplier.
+     */
+    private static final class Term {
+        private final PostingList[] lists;
+        private final int[] multipliers;
+        // Upper bound on the documents the term matches
+        private final long estimate;
+
+        Term(PostingList[] lists, int[] multipliers) {
+            this.lists = lists;
+            this.multipliers = multipliers;
+            long sum = 0;
+            for (PostingList list : lists) {
+                sum += list.size();
+            }
+            this.estimate = sum;
+        }
+
+        int weight(int ordinal) {
+            int weight = 0;
+            for (int i = 0; i < lists.length; i++) {
+                weight += lists[i].weight(ordinal) * multipliers[i];
+            }
+            return weight;
+        }
+
+        Cursor cursor(boolean descending) {
+            return new Cursor(lists, descending);
+        }
+    }
+
+    /**
+     * Walks the union of a term's postings in ordinal order, each ordinal once. One list is read
+     * directly; several are merged through a heap keyed by each list's current ordinal.
+     */
+    private static final class Cursor {
+        private final PostingList[] lists;
+        private final boolean descending;
+        private final int[] positions;
+        // Indexes into lists, ordered by the ordinal each one is at
+        private final int[] heap;
+        private int heapSize;
+        private int last = NO_ORDINAL;
+
+        Cursor(PostingList[] lists, boolean descending) {
+            this.lists = lists;
+            this.descending = descending;
+            this.positions = new int[lists.length];
+            this.heap = new int[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                positions[i] = descending ? lists[i].size() - 1 : 0;
+                if (hasCurrent(i)) {
+                    heap[heapSize++] = i;
+                    siftUp(heapSize - 1);
+                }
+            }
+        }
+
+        int next() {
+            while (heapSize > 0) {
+                int list = heap[0];
+                int ordinal = current(list);
+                positions[list] += descending ? -1 : 1;
+                if (hasCurrent(list)) {
+                    siftDown(0);
+                } else {
+                    heap[0] = heap[--heapSize];
+                    siftDown(0);
+                }
+                if (ordinal != last) {
+                    last = ordinal;
+                    return ordinal;
+                }
+            }
+            return NO_ORDINAL;
+        }
+
+        private boolean hasCurrent(int list) {
+            return positions[list] >= 0 && positions[list] < lists[list].size();
+        }
+
+        private int current(int list) {
+            return lists[list].ordinalAt(positions[list]);
+        }
+
+        private boolean before(int a, int b) {
+            return descending ? current(heap[a]) > current(heap[b]) : current(heap[a]) < current(heap[b]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!before(index, parent)) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int first = index;
+                int left = 2 * index + 1;
+                if (left < heapSize && before(left, first)) {
+                    first = left;
+                }
+                if (left + 1 < heapSize && before(left + 1, first)) {
+                    first = left + 1;
+                }
+                if (first == index) {
+                    return;
+                }
+                swap(index, first);
+                index = first;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int swapped = heap[a];
+            heap[a] = heap[b];
+            heap[b] = swapped;
+        }
+    }
+}
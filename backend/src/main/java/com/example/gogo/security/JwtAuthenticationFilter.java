@@ -1,26 +1,49 @@
 package com.example.gogo.security;
 
+import com.example.gogo.logging.SampledLogger;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final JwtPrincipalResolver principalResolver;
+    private final MeterRegistry meterRegistry;
+    private final Timer verifyTimer;
+    private final SampledLogger failureLog;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, JwtPrincipalResolver principalResolver, MeterRegistry meterRegistry,
+                                   @Value("${logging.sample.token-failures:10}") int failuresPerMinute) {
+        this.jwtUtil = jwtUtil;
+        this.principalResolver = principalResolver;
+        this.meterRegistry = meterRegistry;
+        this.verifyTimer = Timer.builder("auth.jwt.verify").register(meterRegistry);
+        // A client replaying a bad token would otherwise log on every request
+        this.failureLog = new SampledLogger(log, failuresPerMinute, Duration.ofMinutes(1));
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -28,7 +51,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -37,12 +59,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            username = jwtUtil.extractUsername(jwt);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Signature and expiry are verified by the parser; no second pass is needed
+                Claims claims = verifyTimer.recordCallable(() -> jwtUtil.parseClaims(jwt));
+                String username = claims.getSubject();
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (username != null) {
+                    UserDetails userDetails = principalResolver.resolve(username);
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -53,9 +76,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e);
+            String reason = failureReason(e);
+            Counter.builder("auth.jwt.failures").tag("reason", reason).register(meterRegistry).increment();
+            if ("other".equals(reason)) {
+                failureLog.error(reason, "Cannot set user authentication", e);
+            } else {
+                // Bad tokens are client errors; the message is enough, no stack trace
+                failureLog.warn(reason, "Rejected bearer token ({}): {}", reason, e.getMessage());
+            }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private static String failureReason(Exception e) {
+        if (e instanceof ExpiredJwtException) {
+            return "expired";
+        }
+        if (e instanceof SignatureException) {
+            return "signature";
+        }
+        if (e instanceof MalformedJwtException) {
+            return "malformed";
+        }
+        if (e instanceof UnsupportedJwtException) {
+            return "unsupported";
+        }
+        return "other";
+    }
 }
\ No newline at end of file
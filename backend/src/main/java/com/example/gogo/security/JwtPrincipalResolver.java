@@ -0,0 +1,48 @@
+package com.example.gogo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+
+@Component
+public class JwtPrincipalResolver {
+
+    private final UserDetailsService userDetailsService;
+    private final boolean verifyUser;
+    // Bounded and expiring, so a removed user or changed authority is picked up within the TTL
+    private final Cache<String, UserDetails> cache;
+
+    public JwtPrincipalResolver(UserDetailsService userDetailsService,
+                                @Value("${jwt.principal.verify-user:false}") boolean verifyUser,
+                                @Value("${jwt.principal.cache-ttl:30000}") long cacheTtl,
+                                @Value("${jwt.principal.cache-max-size:10000}") int cacheMaxSize) {
+        this.userDetailsService = userDetailsService;
+        this.verifyUser = verifyUser;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtl))
+                .build();
+    }
+
+    /**
+     * Resolves the principal for a subject whose token has already been verified.
+     * Without user verification the principal is built from the claims alone; otherwise
+     * the user lookup is cached for {@code jwt.principal.cache-ttl} milliseconds.
+     */
+    public UserDetails resolve(String username) {
+        if (!verifyUser) {
+            return new User(username, "", Collections.emptyList());
+        }
+        return cache.get(username, key -> {
+            UserDetails loaded = userDetailsService.loadUserByUsername(key);
+            return new User(loaded.getUsername(), "", loaded.getAuthorities());
+        });
+    }
+}
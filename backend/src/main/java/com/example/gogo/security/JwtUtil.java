@@ -1,8 +1,10 @@
 package com.example.gogo.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -11,52 +13,62 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.access-token-expiration}")
-    private Long accessTokenExpiration;
-
-    @Value("${jwt.refresh-token-expiration}")
-    private Long refreshTokenExpiration;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    private final Long accessTokenExpiration;
+    private final Long refreshTokenExpiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    // Verifies tokens signed before a rotation; null when no previous secret is configured
+    private final JwtParser previousParser;
+    private final long previousRetiresAt;
+
+    /**
+     * To rotate, deploy with the new {@code jwt.secret} and the old one as {@code jwt.previous-secret}.
+     * Access tokens signed with the previous secret keep verifying for one access-token lifetime after
+     * startup, by which time all of them have expired; the previous secret is then refused.
+     */
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.previous-secret:}") String previousSecret,
+                   @Value("${jwt.access-token-expiration}") Long accessTokenExpiration,
+                   @Value("${jwt.refresh-token-expiration}") Long refreshTokenExpiration) {
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.previousParser = previousSecret == null || previousSecret.isBlank() ? null
+                : Jwts.parser().verifyWith(Keys.hmacShaKeyFor(previousSecret.getBytes())).build();
+        this.previousRetiresAt = System.currentTimeMillis() + accessTokenExpiration;
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return extractAllClaims(token).getSubject();
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (SignatureException e) {
+            if (previousParser == null || System.currentTimeMillis() >= previousRetiresAt) {
+                throw e;
+            }
+            return previousParser.parseSignedClaims(token).getPayload();
+        }
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateAccessToken(UserDetails userDetails) {
+        return generateAccessToken(userDetails.getUsername());
     }
 
-    public String generateAccessToken(UserDetails userDetails) {
+    public String generateAccessToken(String username) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername(), accessTokenExpiration);
+        return createToken(claims, username, accessTokenExpiration);
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
@@ -65,17 +77,13 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject, Long expiration) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey)
                 .compact();
     }
-
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-}
\ No newline at end of file
+}
@@ -1,20 +1,26 @@
 package com.example.gogo.service;
 
+import com.example.gogo.config.CacheConfig;
 import com.example.gogo.dto.*;
-import com.example.gogo.entity.RefreshToken;
 import com.example.gogo.entity.User;
-import com.example.gogo.repository.RefreshTokenRepository;
+import com.example.gogo.exception.InvalidRefreshTokenException;
+import com.example.gogo.exception.TooManyRequestsException;
+import com.example.gogo.ratelimit.RateLimiter;
+import com.example.gogo.ratelimit.RouteGroup;
+import com.example.gogo.repository.UserAccount;
 import com.example.gogo.repository.UserRepository;
 import com.example.gogo.security.JwtUtil;
+import com.example.gogo.security.PasswordHashingService;
+import com.example.gogo.token.RefreshTokenStore;
+import com.example.gogo.token.StoredRefreshToken;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
@@ -22,12 +28,14 @@ import java.util.UUID;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenStore refreshTokenStore;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final CacheManager cacheManager;
+    private final RateLimiter rateLimiter;
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS_BY_USERNAME, key = "#request.username")
     public MessageResponse register(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username already exists");
@@ -39,7 +47,7 @@ public class AuthService {
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .build();
 
         userRepository.save(user);
@@ -47,79 +55,89 @@ public class AuthService {
     }
 
     @Transactional
+    @Timed(value = "auth.login", histogram = true)
     public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByUsername(request.getUserId())
+        UserAccount account = userRepository.findAccountByUsername(request.getUserId())
                 .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), account.passwordHash())) {
             throw new BadCredentialsException("Invalid credentials");
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String accessToken = jwtUtil.generateAccessToken(userDetails);
-        String refreshToken = createRefreshToken(user);
+        if (passwordHashingService.needsRehash(account.passwordHash())) {
+            // Transparently move the stored hash to the configured work factor. The entity is loaded
+            // only here: the cached account is shared and must not be changed in place.
+            User user = userRepository.findById(account.id())
+                    .orElseThrow(() -> new BadCredentialsException("Invalid credentials"));
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
+            userRepository.save(user);
+            cacheManager.getCache(CacheConfig.USERS_BY_USERNAME).evict(account.username());
+        }
 
-        UserDto userDto = UserDto.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
+        UserDto user = UserDto.builder()
+                .id(account.id())
+                .username(account.username())
+                .email(account.email())
                 .build();
 
         return AuthResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .user(userDto)
+                .accessToken(jwtUtil.generateAccessToken(account.username()))
+                .refreshToken(refreshTokenStore.issue(user, UUID.randomUUID().toString()))
+                .user(user)
                 .build();
     }
 
-    @Transactional
+    // Reuse detection must commit the family revocation even though the request fails
+    @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
+    @Timed(value = "auth.refresh", histogram = true)
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(request.getRefreshToken())
-                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        StoredRefreshToken refreshToken = refreshTokenStore.find(request.getRefreshToken())
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        // Per token family rather than per address, so clients behind one NAT do not share a budget
+        if (rateLimiter.tryAcquire(RouteGroup.REFRESH_FAMILY, refreshToken.familyId()) > 0) {
+            throw new TooManyRequestsException("Too many refresh attempts");
+        }
 
-        if (refreshToken.getRevoked() || refreshToken.isExpired()) {
-            throw new RuntimeException("Refresh token is invalid or expired");
+        if (refreshToken.revoked()) {
+            // A rotated token was presented again: treat the whole family as compromised
+            refreshTokenStore.revokeFamily(refreshToken.familyId());
+            throw new InvalidRefreshTokenException("Refresh token is invalid or expired");
+        }
+        if (refreshToken.isExpired()) {
+            throw new InvalidRefreshTokenException("Refresh token is invalid or expired");
         }
 
-        User user = refreshToken.getUser();
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
+        // Everything the response needs is on the token record, so no user row is read
+        UserDto user = UserDto.builder()
+                .id(refreshToken.userId())
+                .username(refreshToken.username())
+                .email(refreshToken.email() != null ? refreshToken.email() : accountEmail(refreshToken.username()))
+                .build();
 
-        String newAccessToken = jwtUtil.generateAccessToken(userDetails);
-        String newRefreshToken = createRefreshToken(user);
+        String newAccessToken = jwtUtil.generateAccessToken(user.getUsername());
+        String newRefreshToken = refreshTokenStore.issue(user, refreshToken.familyId());
 
         // Revoke old refresh token
-        refreshToken.setRevoked(true);
-        refreshTokenRepository.save(refreshToken);
+        refreshTokenStore.revoke(refreshToken.tokenHash());
 
         return AuthResponse.builder()
                 .accessToken(newAccessToken)
                 .refreshToken(newRefreshToken)
-                .user(UserDto.builder()
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .email(user.getEmail())
-                        .build())
+                .user(user)
                 .build();
     }
 
     @Transactional
     public MessageResponse logout(String token) {
-        refreshTokenRepository.findByToken(token).ifPresent(refreshToken -> {
-            refreshToken.setRevoked(true);
-            refreshTokenRepository.save(refreshToken);
-        });
+        refreshTokenStore.revokeFamilyOfToken(token);
         return new MessageResponse("Logged out successfully");
     }
 
-    private String createRefreshToken(User user) {
-        String token = UUID.randomUUID().toString();
-        RefreshToken refreshToken = RefreshToken.builder()
-                .token(token)
-                .user(user)
-                .expiresAt(LocalDateTime.now().plusDays(7))
-                .revoked(false)
-                .build();
-        refreshTokenRepository.save(refreshToken);
-        return token;
+    // Tokens journaled before emails were stored carry none; the cached account fills it in
+    private String accountEmail(String username) {
+        return userRepository.findAccountByUsername(username)
+                .map(UserAccount::email)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.example.gogo.service;
+
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.exception.BadRequestException;
+import com.example.gogo.repository.ItemRepository;
+import com.example.gogo.search.ItemSearchBackend;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ItemExportService {
+
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final String CSV_HEADER = "id,title,description,vin,chassisNumber,vehicleModel,modelYear,rpm," +
+            "engineTemp,mileage,diagnosticDate,status,technician,engineType,createdAt,updatedAt";
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchBackend itemSearchBackend;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    /**
+     * Writes every item matching the search filter to the output. Rows are read through a
+     * forward-only cursor as DTO projections, so nothing accumulates in the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void export(String search, Format format, OutputStream outputStream) throws IOException {
+        try (Stream<ItemResponse> items = search != null && !search.isEmpty()
+                ? itemSearchBackend.stream(search)
+                : itemRepository.streamAllResponses()) {
+            if (format == Format.CSV) {
+                writeCsv(items.iterator(), outputStream);
+            } else {
+                writeNdjson(items.iterator(), outputStream);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<ItemResponse> items, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(generator)) {
+            int written = 0;
+            while (items.hasNext()) {
+                writer.write(items.next());
+                if (++written % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<ItemResponse> items, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        int written = 0;
+        while (items.hasNext()) {
+            ItemResponse item = items.next();
+            writeCsvRow(writer, item.getId(), item.getTitle(), item.getDescription(), item.getVin(),
+                    item.getChassisNumber(), item.getVehicleModel(), item.getModelYear(), item.getRpm(),
+                    item.getEngineTemp(), item.getMileage(), item.getDiagnosticDate(), item.getStatus(),
+                    item.getTechnician(), item.getEngineType(), item.getCreatedAt(), item.getUpdatedAt());
+            if (++written % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,96 +1,404 @@
 package com.example.gogo.service;
 
+import com.example.gogo.config.CacheConfig;
+import com.example.gogo.dto.BulkItemResponse;
+import com.example.gogo.dto.CursorPage;
+import com.example.gogo.dto.ItemFilter;
 import com.example.gogo.dto.ItemRequest;
 import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.dto.ItemStatsResponse;
+import com.example.gogo.dto.ItemWatermark;
 import com.example.gogo.entity.Item;
 import com.example.gogo.entity.User;
+import com.example.gogo.events.ItemChangedEvent;
+import com.example.gogo.events.ItemEventBus;
+import com.example.gogo.exception.BadRequestException;
+import com.example.gogo.exception.ForbiddenException;
+import com.example.gogo.exception.ItemNotFoundException;
+import com.example.gogo.exception.PreconditionFailedException;
 import com.example.gogo.repository.ItemRepository;
+import com.example.gogo.repository.ItemSpecifications;
+import com.example.gogo.repository.ItemWriteState;
+import com.example.gogo.repository.UserAccount;
 import com.example.gogo.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.example.gogo.search.ItemSearchBackend;
+import com.example.gogo.stats.ItemStatistics;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
+@Timed(value = "items.service", histogram = true)
 public class ItemService {
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemSearchBackend itemSearchBackend;
+    private final ItemStatistics itemStatistics;
+    private final ItemEventBus itemEventBus;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
-    public Page<ItemResponse> getItems(String username, String search, Pageable pageable) {
-        // For diagnostic data, show all items regardless of user
-        Page<Item> items;
+    @Value("${items.bulk.batch-size:500}")
+    private int bulkBatchSize;
+
+    @Value("${items.bulk.max-records:10000}")
+    private int bulkMaxRecords;
 
+    @Transactional(readOnly = true)
+    public Page<ItemResponse> getItems(String username, String search, ItemFilter filter, Pageable pageable) {
+        // For diagnostic data, show all items regardless of user
+        validateRanges(filter);
+        Page<ItemResponse> page;
         if (search != null && !search.isEmpty()) {
-            items = itemRepository.findByTitleContainingOrDescriptionContaining(search, search, pageable);
+            // The search backend applies the filter itself, so a term matches the same items with or without one
+            page = itemSearchBackend.search(search, filter, pageable);
+        } else if (filter != null && !filter.isEmpty()) {
+            page = itemRepository.findResponses(ItemSpecifications.matching(filter, null), pageable);
         } else {
-            items = itemRepository.findAll(pageable);
+            page = itemRepository.findAllResponses(pageable);
         }
+        recordRows("getItems", page.getNumberOfElements());
+        return page;
+    }
 
-        return items.map(this::mapToResponse);
+    private static void validateRanges(ItemFilter filter) {
+        if (filter == null) {
+            return;
+        }
+        checkRange("Rpm", filter.getMinRpm(), filter.getMaxRpm());
+        checkRange("EngineTemp", filter.getMinEngineTemp(), filter.getMaxEngineTemp());
+        checkRange("Mileage", filter.getMinMileage(), filter.getMaxMileage());
+        if (filter.getStartDate() != null && filter.getEndDate() != null
+                && filter.getStartDate().isAfter(filter.getEndDate())) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
     }
 
+    private static void checkRange(String field, Integer min, Integer max) {
+        if (min != null && max != null && min > max) {
+            throw new BadRequestException("min" + field + " must not be greater than max" + field);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ItemResponse> getItemsByCursor(String username, String cursor, int size) {
+        // Fetch one extra row to learn whether another page exists without a count query
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ItemResponse> items;
+
+        if (cursor == null || cursor.isEmpty()) {
+            items = itemRepository.findFirstKeysetPage(limit);
+        } else {
+            Cursor position = decodeCursor(cursor);
+            items = itemRepository.findKeysetPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasNext = items.size() > size;
+        List<ItemResponse> pageItems = hasNext ? items.subList(0, size) : items;
+        ItemResponse last = pageItems.isEmpty() ? null : pageItems.get(pageItems.size() - 1);
+        recordRows("getItemsByCursor", pageItems.size());
+
+        return CursorPage.<ItemResponse>builder()
+                .content(pageItems)
+                .size(pageItems.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(last) : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public ItemWatermark getWatermark() {
+        return itemRepository.findWatermark();
+    }
+
+    @Transactional(readOnly = true)
+    public long getItemVersion(Long itemId) {
+        return itemRepository.findVersionById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found"));
+    }
+
+    public ItemStatsResponse getStats() {
+        return itemStatistics.snapshot();
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ITEMS, key = "#itemId")
     public ItemResponse getItemById(String username, Long itemId) {
         // For diagnostic data, allow all users to view
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
+        return itemRepository.findResponseById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found"));
+    }
 
-        return mapToResponse(item);
+    @Transactional(readOnly = true)
+    @CachePut(cacheNames = CacheConfig.ITEMS, key = "#itemId")
+    public ItemResponse reloadItem(Long itemId) {
+        return itemRepository.findResponseById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found"));
     }
 
     @Transactional
     public ItemResponse createItem(String username, ItemRequest request) {
-        User user = getUserByUsername(username);
+        UserAccount user = getUserAccount(username);
 
-        Item item = Item.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .user(user)
-                .build();
+        Item item = new Item();
+        item.setUser(userRepository.getReferenceById(user.id()));
+        applyRequest(item, request);
 
         Item savedItem = itemRepository.save(item);
-        return mapToResponse(savedItem);
+        itemSearchBackend.index(savedItem);
+        itemStatistics.recordCreated(savedItem);
+        ItemResponse response = mapToResponse(savedItem);
+        itemEventBus.publish(ItemChangedEvent.created(response));
+        return response;
     }
 
     @Transactional
-    public ItemResponse updateItem(String username, Long itemId, ItemRequest request) {
-        User user = getUserByUsername(username);
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
-
-        if (!item.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Not authorized to update this item");
+    @CachePut(cacheNames = CacheConfig.ITEMS, key = "#itemId")
+    public ItemResponse updateItem(String username, Long itemId, ItemRequest request, Long expectedVersion) {
+        UserAccount user = getUserAccount(username);
+        ItemWriteState current = getWriteState(itemId, user, "Not authorized to update this item");
+        if (expectedVersion != null && !expectedVersion.equals(current.version())) {
+            throw new PreconditionFailedException("Item has been modified");
         }
 
-        item.setTitle(request.getTitle());
-        item.setDescription(request.getDescription());
+        // The response is built from the request and the state read above; the row is not reloaded
+        Item updatedItem = new Item();
+        applyRequest(updatedItem, request);
+        updatedItem.setId(itemId);
+        updatedItem.setCreatedAt(current.createdAt());
+        updatedItem.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        updatedItem.setVersion(current.version() + 1);
 
-        Item updatedItem = itemRepository.save(item);
-        return mapToResponse(updatedItem);
+        if (itemRepository.updateOwned(updatedItem, user.id(), current.version()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Item.class, itemId);
+        }
+        itemSearchBackend.index(updatedItem);
+        itemStatistics.recordUpdated(current.toSample(), updatedItem);
+        ItemResponse response = mapToResponse(updatedItem);
+        itemEventBus.publish(ItemChangedEvent.updated(response, current.status(), current.vehicleModel()));
+        return response;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
     public void deleteItem(String username, Long itemId) {
-        User user = getUserByUsername(username);
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
+        UserAccount user = getUserAccount(username);
+        ItemWriteState current = getWriteState(itemId, user, "Not authorized to delete this item");
 
-        if (!item.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Not authorized to delete this item");
+        if (itemRepository.deleteOwned(itemId, user.id(), current.version()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Item.class, itemId);
         }
+        itemSearchBackend.remove(itemId);
+        itemStatistics.recordDeleted(current.toSample());
+        itemEventBus.publish(ItemChangedEvent.deleted(itemId, current.status(), current.vehicleModel()));
+    }
+
+    public BulkItemResponse createItems(String username, Iterator<ItemRequest> requests) {
+        Long userId = getUserAccount(username).id();
+        List<BulkItemResponse.Failure> failures = new ArrayList<>();
+        List<PendingItem> batch = new ArrayList<>(bulkBatchSize);
+        int index = 0;
+        int created = 0;
+
+        while (true) {
+            ItemRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                // The stream itself is broken (e.g. truncated JSON); nothing after this point can be read
+                failures.add(new BulkItemResponse.Failure(index++, "Malformed record; input ends here"));
+                break;
+            }
+            if (index >= bulkMaxRecords) {
+                // Records before this one are stored; the rest of the body is left unread
+                failures.add(new BulkItemResponse.Failure(index, "More than " + bulkMaxRecords + " records; input ends here"));
+                break;
+            }
+            try {
+                request = requests.next();
+            } catch (RuntimeException e) {
+                // Well-formed JSON that does not map to an item; the reader resumes at the next record
+                failures.add(new BulkItemResponse.Failure(index++, "Malformed record"));
+                continue;
+            }
 
-        itemRepository.delete(item);
+            Set<ConstraintViolation<ItemRequest>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                batch.add(new PendingItem(index, request));
+            } else {
+                failures.add(new BulkItemResponse.Failure(index, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .collect(Collectors.joining(", "))));
+            }
+            index++;
+
+            if (batch.size() >= bulkBatchSize) {
+                created += insertBatch(userId, batch, failures);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += insertBatch(userId, batch, failures);
+        }
+
+        recordRows("createItems", created);
+        return BulkItemResponse.builder()
+                .received(index)
+                .created(created)
+                .failures(failures)
+                .build();
+    }
+
+    private int insertBatch(Long userId, List<PendingItem> batch, List<BulkItemResponse.Failure> failures) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistBatch(userId, batch));
+            return batch.size();
+        } catch (RuntimeException e) {
+            // Replay the failed batch record by record so one bad row does not sink the rest
+            int created = 0;
+            for (PendingItem pending : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistBatch(userId, List.of(pending)));
+                    created++;
+                } catch (RuntimeException recordFailure) {
+                    failures.add(new BulkItemResponse.Failure(pending.index(), persistenceFailure(recordFailure)));
+                }
+            }
+            return created;
+        }
+    }
+
+    /**
+     * A stable, client-safe description of why a record could not be stored; driver messages carry
+     * SQL and schema details and change between databases.
+     */
+    private static String persistenceFailure(RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException) {
+            if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains("uk_items_vin")) {
+                return "vin already exists";
+            }
+            return "Violates a data constraint";
+        }
+        log.warn("Bulk item could not be saved", e);
+        return "Could not be saved";
+    }
+
+    private void persistBatch(Long userId, List<PendingItem> batch) {
+        User user = userRepository.getReferenceById(userId);
+        List<Item> items = new ArrayList<>(batch.size());
+        for (PendingItem pending : batch) {
+            Item item = new Item();
+            item.setUser(user);
+            applyRequest(item, pending.request());
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+        itemRepository.flush();
+        items.forEach(itemSearchBackend::index);
+        items.forEach(itemStatistics::recordCreated);
+        items.forEach(item -> itemEventBus.publish(ItemChangedEvent.created(mapToResponse(item))));
+    }
+
+    private record PendingItem(int index, ItemRequest request) {
     }
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+    private void applyRequest(Item item, ItemRequest request) {
+        item.setTitle(request.getTitle());
+        item.setDescription(request.getDescription());
+        item.setVin(request.getVin());
+        item.setChassisNumber(request.getChassisNumber());
+        item.setVehicleModel(request.getVehicleModel());
+        item.setModelYear(request.getModelYear());
+        item.setRpm(request.getRpm());
+        item.setEngineTemp(request.getEngineTemp());
+        item.setMileage(request.getMileage());
+        item.setDiagnosticDate(request.getDiagnosticDate());
+        item.setStatus(request.getStatus());
+        item.setTechnician(request.getTechnician());
+        item.setEngineType(request.getEngineType());
+    }
+
+    private void recordRows(String method, int rows) {
+        DistributionSummary.builder("items.service.rows")
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * One narrow read of the row about to be written: existence and ownership decide 404 or 403,
+     * and the version it returns guards the write statement.
+     */
+    private ItemWriteState getWriteState(Long itemId, UserAccount user, String forbiddenMessage) {
+        ItemWriteState current = itemRepository.findWriteStateById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found"));
+        if (!user.id().equals(current.ownerId())) {
+            throw new ForbiddenException(forbiddenMessage);
+        }
+        return current;
+    }
+
+    private UserAccount getUserAccount(String username) {
+        return userRepository.findAccountByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
-    private ItemResponse mapToResponse(Item item) {
+    private String encodeCursor(ItemResponse item) {
+        String raw = item.getCreatedAt() + "|" + item.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    private record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    // Package-private for the JMH benchmarks
+    static ItemResponse mapToResponse(Item item) {
         return ItemResponse.builder()
                 .id(item.getId())
                 .title(item.getTitle())
@@ -108,6 +416,7 @@ public class ItemService {
                 .engineType(item.getEngineType())
                 .createdAt(item.getCreatedAt())
                 .updatedAt(item.getUpdatedAt())
+                .version(item.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.gogo.service;
+
+import com.example.gogo.dto.ItemStatsResponse;
+import com.example.gogo.entity.ItemStatsSnapshot;
+import com.example.gogo.repository.ItemStatsSnapshotRepository;
+import com.example.gogo.stats.ItemStatistics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * Writes the in-memory item statistics to the database on a fixed interval and drops snapshots
+ * older than the retention window. Stale min/max bounds are recomputed first so the persisted
+ * copy is exact.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemStatsSnapshotService {
+
+    private final ItemStatistics itemStatistics;
+    private final ItemStatsSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${items.stats.snapshot-retention:P7D}")
+    private Duration retention;
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${items.stats.snapshot-interval:PT1M}",
+            initialDelayString = "${items.stats.snapshot-interval:PT1M}")
+    public void snapshot() {
+        itemStatistics.refreshStaleBounds();
+        ItemStatsResponse stats = itemStatistics.snapshot();
+
+        try {
+            snapshotRepository.save(ItemStatsSnapshot.builder()
+                    .takenAt(stats.getGeneratedAt())
+                    .totalItems(stats.getTotal())
+                    .payload(objectMapper.writeValueAsString(stats))
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize item statistics snapshot", e);
+            return;
+        }
+
+        int purged = snapshotRepository.deleteTakenBefore(stats.getGeneratedAt().minus(retention));
+        if (purged > 0) {
+            log.debug("Purged {} item statistics snapshots", purged);
+        }
+    }
+}
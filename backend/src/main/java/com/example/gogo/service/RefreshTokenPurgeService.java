@@ -0,0 +1,63 @@
+package com.example.gogo.service;
+
+import com.example.gogo.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Deletes expired refresh tokens, and revoked ones once they are past the reuse-detection window,
+ * in small id-keyed chunks so each delete holds its locks only briefly.
+ */
+@Service
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPurgeService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${auth.refresh-token.purge-chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${auth.refresh-token.revoked-retention:P1D}")
+    private Duration revokedRetention;
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.purge-interval:PT1H}",
+            initialDelayString = "${auth.refresh-token.purge-interval:PT1H}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime revokedBefore = now.minus(revokedRetention);
+        int purged = purgeChunks(limit -> refreshTokenRepository.findExpiredIds(now, limit))
+                + purgeChunks(limit -> refreshTokenRepository.findRevokedIds(revokedBefore, limit));
+
+        if (purged > 0) {
+            log.info("Purged {} refresh tokens", purged);
+        }
+    }
+
+    private int purgeChunks(Function<Pageable, List<Long>> findIds) {
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = findIds.apply(PageRequest.of(0, chunkSize));
+                return ids.isEmpty() ? 0 : refreshTokenRepository.deleteByIdIn(ids);
+            });
+            purged += deleted;
+        } while (deleted == chunkSize);
+        return purged;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.gogo.service;
+
+import com.example.gogo.dto.TelemetryBatchRequest;
+import com.example.gogo.dto.TelemetryBatchResponse;
+import com.example.gogo.dto.TelemetrySeriesResponse;
+import com.example.gogo.exception.ItemNotFoundException;
+import com.example.gogo.repository.ItemRepository;
+import com.example.gogo.telemetry.Resolution;
+import com.example.gogo.telemetry.TelemetryStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class TelemetryService {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofHours(1);
+
+    private final TelemetryStore telemetryStore;
+    private final ItemRepository itemRepository;
+
+    public TelemetryBatchResponse append(TelemetryBatchRequest request) {
+        int received = request.getReadings().size();
+        int accepted = telemetryStore.append(request.getReadings());
+        return TelemetryBatchResponse.builder()
+                .received(received)
+                .accepted(accepted)
+                .rejected(received - accepted)
+                .build();
+    }
+
+    public TelemetrySeriesResponse getSeries(String vin, Instant from, Instant to, Resolution resolution) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_WINDOW);
+        return telemetryStore.query(vin, start, end, resolution);
+    }
+
+    public TelemetrySeriesResponse getItemSeries(Long itemId, Instant from, Instant to, Resolution resolution) {
+        String vin = itemRepository.findVinById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found or has no VIN"));
+        return getSeries(vin, from, to, resolution);
+    }
+}
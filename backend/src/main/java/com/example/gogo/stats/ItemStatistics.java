@@ -0,0 +1,307 @@
+package com.example.gogo.stats;
+
+import com.example.gogo.dto.ItemStatsResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
+import com.example.gogo.entity.Item;
+import com.example.gogo.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Fleet-wide rollups over every item, kept up to date as items are written so reading them
+ * never scans the items table. Changes are applied after the writing transaction commits, on
+ * striped counters so concurrent writers do not contend. Removing the value that held a min or
+ * max marks that bound stale until {@link #refreshStaleBounds()} recomputes it from the database.
+ * <p>
+ * The rollups are rebuilt from GROUP BY aggregates at startup, in one repeatable-read transaction. A
+ * writer holds the rebuild lock's read side from its first recorded change until its transaction
+ * completes, and the rebuild takes the write side: every write that committed before the rebuild
+ * is in the aggregates, and every later one waits and is applied on top, so none is counted twice
+ * or lost. Periodic copies go to the database through
+ * {@link com.example.gogo.service.ItemStatsSnapshotService}.
+ */
+@Component
+@Slf4j
+public class ItemStatistics {
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private final LongAdder total = new LongAdder();
+    private final Map<DiagnosticStatus, LongAdder> byStatus = counters(DiagnosticStatus.class);
+    private final Map<EngineType, LongAdder> byEngineType = counters(EngineType.class);
+    private final ConcurrentMap<String, ModelRollup> byVehicleModel = new ConcurrentHashMap<>();
+    private final MetricRollup rpm = new MetricRollup();
+    private final MetricRollup engineTemp = new MetricRollup();
+    private final MetricRollup mileage = new MetricRollup();
+
+    public ItemStatistics(ItemRepository itemRepository, PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        // One snapshot for all the aggregates. Not marked read-only: that would route it to a
+        // replica, which may not have the writes this node has already counted.
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            snapshotTransaction.executeWithoutResult(status -> load());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+        log.info("Item statistics built: {} items, {} vehicle models", total.sum(), byVehicleModel.size());
+    }
+
+    public void recordCreated(Item item) {
+        Sample created = Sample.of(item);
+        afterCommit(() -> apply(created, 1));
+    }
+
+    public void recordUpdated(Sample before, Item item) {
+        Sample after = Sample.of(item);
+        afterCommit(() -> {
+            apply(before, -1);
+            apply(after, 1);
+        });
+    }
+
+    public void recordDeleted(Sample deleted) {
+        afterCommit(() -> apply(deleted, -1));
+    }
+
+    public ItemStatsResponse snapshot() {
+        Map<String, ItemStatsResponse.ModelStats> models = new TreeMap<>();
+        byVehicleModel.forEach((model, rollup) -> {
+            if (rollup.count.sum() > 0) {
+                models.put(model, rollup.toStats());
+            }
+        });
+
+        return ItemStatsResponse.builder()
+                .total(total.sum())
+                .byStatus(sums(byStatus))
+                .byEngineType(sums(byEngineType))
+                .byVehicleModel(models)
+                .rpm(rpm.toStats())
+                .engineTemp(engineTemp.toStats())
+                .mileage(mileage.toStats())
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Recomputes min/max for every metric whose bound may have been removed. Runs one aggregate
+     * query per stale metric and nothing otherwise.
+     */
+    @Scheduled(fixedDelayString = "${items.stats.bounds-refresh-interval:PT1M}",
+            initialDelayString = "${items.stats.bounds-refresh-interval:PT1M}")
+    public void refreshStaleBounds() {
+        rpm.refreshBoundsIfStale(itemRepository::aggregateRpm);
+        engineTemp.refreshBoundsIfStale(itemRepository::aggregateEngineTemp);
+        mileage.refreshBoundsIfStale(itemRepository::aggregateMileage);
+    }
+
+    private void load() {
+        total.reset();
+        total.add(itemRepository.count());
+
+        byStatus.values().forEach(LongAdder::reset);
+        for (Object[] row : itemRepository.countByStatus()) {
+            byStatus.get((DiagnosticStatus) row[0]).add((Long) row[1]);
+        }
+        byEngineType.values().forEach(LongAdder::reset);
+        for (Object[] row : itemRepository.countByEngineType()) {
+            byEngineType.get((EngineType) row[0]).add((Long) row[1]);
+        }
+        byVehicleModel.clear();
+        for (Object[] row : itemRepository.countByVehicleModel()) {
+            ModelRollup rollup = new ModelRollup();
+            rollup.count.add((Long) row[1]);
+            rollup.engineTempCount.add((Long) row[2]);
+            rollup.engineTempSum.add(row[3] != null ? ((Number) row[3]).longValue() : 0);
+            byVehicleModel.put((String) row[0], rollup);
+        }
+
+        rpm.load(itemRepository.aggregateRpm());
+        engineTemp.load(itemRepository.aggregateEngineTemp());
+        mileage.load(itemRepository.aggregateMileage());
+    }
+
+    private void apply(Sample sample, int sign) {
+        total.add(sign);
+        if (sample.status() != null) {
+            byStatus.get(sample.status()).add(sign);
+        }
+        if (sample.engineType() != null) {
+            byEngineType.get(sample.engineType()).add(sign);
+        }
+        if (sample.vehicleModel() != null) {
+            byVehicleModel.computeIfAbsent(sample.vehicleModel(), model -> new ModelRollup()).add(sample.engineTemp(), sign);
+        }
+        rpm.add(sample.rpm(), sign);
+        engineTemp.add(sample.engineTemp(), sign);
+        mileage.add(sample.mileage(), sign);
+    }
+
+    private static <E extends Enum<E>> Map<E, LongAdder> counters(Class<E> type) {
+        Map<E, LongAdder> counters = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            counters.put(constant, new LongAdder());
+        }
+        return counters;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> sums(Map<E, LongAdder> counters) {
+        Map<E, Long> sums = new TreeMap<>();
+        counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+        return sums;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rebuildLock.readLock().lock();
+            try {
+                action.run();
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+            return;
+        }
+        // Held until the transaction completes, so a rebuild cannot read the aggregates between
+        // this write committing and its change being applied
+        rebuildLock.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                rebuildLock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * The fields of an item that feed the rollups, copied so later changes to the entity do not leak in.
+     */
+    public record Sample(DiagnosticStatus status, String vehicleModel, EngineType engineType,
+                         Integer rpm, Integer engineTemp, Integer mileage) {
+
+        public static Sample of(Item item) {
+            return new Sample(item.getStatus(), item.getVehicleModel(), item.getEngineType(),
+                    item.getRpm(), item.getEngineTemp(), item.getMileage());
+        }
+    }
+
+    private static final class ModelRollup {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder engineTempCount = new LongAdder();
+        private final LongAdder engineTempSum = new LongAdder();
+
+        void add(Integer temp, int sign) {
+            count.add(sign);
+            if (temp != null) {
+                engineTempCount.add(sign);
+                engineTempSum.add((long) sign * temp);
+            }
+        }
+
+        ItemStatsResponse.ModelStats toStats() {
+            long temps = engineTempCount.sum();
+            return new ItemStatsResponse.ModelStats(count.sum(), temps > 0 ? (double) engineTempSum.sum() / temps : null);
+        }
+    }
+
+    private static final class MetricRollup {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        // Writers share the read lock; a bound refresh takes the write lock so no new value slips
+        // in between the aggregate query and the reset
+        private final ReentrantReadWriteLock boundsLock = new ReentrantReadWriteLock();
+        private volatile boolean stale;
+
+        void add(Integer value, int sign) {
+            if (value == null) {
+                return;
+            }
+            count.add(sign);
+            sum.add((long) sign * value);
+            if (sign > 0) {
+                boundsLock.readLock().lock();
+                try {
+                    min.accumulate(value);
+                    max.accumulate(value);
+                } finally {
+                    boundsLock.readLock().unlock();
+                }
+            } else if (value <= min.get() || value >= max.get()) {
+                stale = true;
+            }
+        }
+
+        void load(MetricAggregate aggregate) {
+            count.reset();
+            sum.reset();
+            count.add(aggregate.count());
+            sum.add(aggregate.sum() != null ? aggregate.sum() : 0);
+            setBounds(aggregate);
+        }
+
+        void refreshBoundsIfStale(Supplier<MetricAggregate> query) {
+            if (!stale) {
+                return;
+            }
+            boundsLock.writeLock().lock();
+            try {
+                stale = false;
+                setBounds(query.get());
+            } finally {
+                boundsLock.writeLock().unlock();
+            }
+        }
+
+        private void setBounds(MetricAggregate aggregate) {
+            min.reset();
+            max.reset();
+            if (aggregate.min() != null) {
+                min.accumulate(aggregate.min());
+                max.accumulate(aggregate.max());
+            }
+        }
+
+        ItemStatsResponse.MetricStats toStats() {
+            long n = count.sum();
+            if (n <= 0) {
+                return new ItemStatsResponse.MetricStats(0, null, null, null);
+            }
+            return new ItemStatsResponse.MetricStats(n, min.get(), max.get(), (double) sum.sum() / n);
+        }
+    }
+}
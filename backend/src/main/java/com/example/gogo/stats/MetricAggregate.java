@@ -0,0 +1,7 @@
+package com.example.gogo.stats;
+
+/**
+ * COUNT, SUM, MIN and MAX of one numeric item column, as computed by the database.
+ */
+public record MetricAggregate(Long count, Long sum, Integer min, Integer max) {
+}
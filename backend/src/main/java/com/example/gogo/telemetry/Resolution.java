@@ -0,0 +1,25 @@
+package com.example.gogo.telemetry;
+
+/**
+ * Bucket widths of the telemetry tiers, finest first. Every reading is folded into one bucket
+ * of each tier, so coarser tiers are always a downsampled view of the finer ones.
+ */
+public enum Resolution {
+    SECOND(1),
+    MINUTE(60),
+    HOUR(3600);
+
+    private final long stepSeconds;
+
+    Resolution(long stepSeconds) {
+        this.stepSeconds = stepSeconds;
+    }
+
+    public long getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public long bucketOf(long epochSecond) {
+        return Math.floorDiv(epochSecond, stepSeconds) * stepSeconds;
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.gogo.telemetry;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A run of consecutive buckets for one VIN and resolution, stored column by column in primitive
+ * arrays. Each bucket keeps count, sum, min and max per metric so buckets can be merged and
+ * re-aggregated without the raw readings. The columns start small and double up to
+ * {@link #CAPACITY}, so a sparse series does not pay for 512 slots. Not thread-safe;
+ * {@link TelemetrySeries} guards it.
+ */
+final class SeriesChunk {
+
+    static final int CAPACITY = 512;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int FORMAT_VERSION = 1;
+
+    private long[] buckets;
+    private int[] rpmCount;
+    private long[] rpmSum;
+    private int[] rpmMin;
+    private int[] rpmMax;
+    private int[] tempCount;
+    private long[] tempSum;
+    private int[] tempMin;
+    private int[] tempMax;
+    private int size;
+
+    // Row id once written to telemetry_chunks; null until the first flush
+    private Long persistedId;
+    private boolean dirty;
+
+    SeriesChunk() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private SeriesChunk(int capacity) {
+        buckets = new long[capacity];
+        rpmCount = new int[capacity];
+        rpmSum = new long[capacity];
+        rpmMin = new int[capacity];
+        rpmMax = new int[capacity];
+        tempCount = new int[capacity];
+        tempSum = new long[capacity];
+        tempMin = new int[capacity];
+        tempMax = new int[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == CAPACITY;
+    }
+
+    boolean contains(long bucket) {
+        return Arrays.binarySearch(buckets, 0, size, bucket) >= 0;
+    }
+
+    long firstBucket() {
+        return buckets[0];
+    }
+
+    long lastBucket() {
+        return buckets[size - 1];
+    }
+
+    /**
+     * Folds a reading into its bucket, inserting the bucket if it does not exist yet.
+     * Returns false when the chunk is full and the bucket would need a new slot.
+     */
+    boolean add(long bucket, Integer rpm, Integer engineTemp) {
+        int index = Arrays.binarySearch(buckets, 0, size, bucket);
+        if (index < 0) {
+            if (isFull()) {
+                return false;
+            }
+            index = -index - 1;
+            insertSlot(index, bucket);
+        }
+        if (rpm != null) {
+            merge(index, rpmCount, rpmSum, rpmMin, rpmMax, rpm);
+        }
+        if (engineTemp != null) {
+            merge(index, tempCount, tempSum, tempMin, tempMax, engineTemp);
+        }
+        dirty = true;
+        return true;
+    }
+
+    void aggregate(long fromBucket, long toBucket, BucketVisitor visitor) {
+        int start = Arrays.binarySearch(buckets, 0, size, fromBucket);
+        if (start < 0) {
+            start = -start - 1;
+        }
+        for (int i = start; i < size && buckets[i] < toBucket; i++) {
+            visitor.visit(buckets[i],
+                    rpmCount[i], rpmSum[i], rpmMin[i], rpmMax[i],
+                    tempCount[i], tempSum[i], tempMin[i], tempMax[i]);
+        }
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    void markClean() {
+        dirty = false;
+    }
+
+    Long getPersistedId() {
+        return persistedId;
+    }
+
+    void setPersistedId(Long persistedId) {
+        this.persistedId = persistedId;
+    }
+
+    /**
+     * Encodes the chunk as a version byte, the bucket count, the first bucket and then each column
+     * in turn, with buckets stored as int offsets from the first one.
+     */
+    byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 8 + size * (4 + 4 + 8 + 4 + 4 + 4 + 8 + 4 + 4));
+        buffer.put((byte) FORMAT_VERSION);
+        buffer.putInt(size);
+        long base = size > 0 ? buckets[0] : 0;
+        buffer.putLong(base);
+        for (int i = 0; i < size; i++) {
+            buffer.putInt((int) (buckets[i] - base));
+        }
+        putColumn(buffer, rpmCount);
+        putColumn(buffer, rpmSum);
+        putColumn(buffer, rpmMin);
+        putColumn(buffer, rpmMax);
+        putColumn(buffer, tempCount);
+        putColumn(buffer, tempSum);
+        putColumn(buffer, tempMin);
+        putColumn(buffer, tempMax);
+        return buffer.array();
+    }
+
+    static SeriesChunk decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported telemetry chunk format " + version);
+        }
+        int size = buffer.getInt();
+        // Sized to fit; only the open chunk of a tier grows again
+        SeriesChunk chunk = new SeriesChunk(size);
+        chunk.size = size;
+        long base = buffer.getLong();
+        for (int i = 0; i < chunk.size; i++) {
+            chunk.buckets[i] = base + buffer.getInt();
+        }
+        getColumn(buffer, chunk.rpmCount, chunk.size);
+        getColumn(buffer, chunk.rpmSum, chunk.size);
+        getColumn(buffer, chunk.rpmMin, chunk.size);
+        getColumn(buffer, chunk.rpmMax, chunk.size);
+        getColumn(buffer, chunk.tempCount, chunk.size);
+        getColumn(buffer, chunk.tempSum, chunk.size);
+        getColumn(buffer, chunk.tempMin, chunk.size);
+        getColumn(buffer, chunk.tempMax, chunk.size);
+        return chunk;
+    }
+
+    private void insertSlot(int index, long bucket) {
+        if (size == buckets.length) {
+            grow(Math.min(CAPACITY, Math.max(INITIAL_CAPACITY, buckets.length * 2)));
+        }
+        int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(buckets, index, buckets, index + 1, moved);
+            System.arraycopy(rpmCount, index, rpmCount, index + 1, moved);
+            System.arraycopy(rpmSum, index, rpmSum, index + 1, moved);
+            System.arraycopy(rpmMin, index, rpmMin, index + 1, moved);
+            System.arraycopy(rpmMax, index, rpmMax, index + 1, moved);
+            System.arraycopy(tempCount, index, tempCount, index + 1, moved);
+            System.arraycopy(tempSum, index, tempSum, index + 1, moved);
+            System.arraycopy(tempMin, index, tempMin, index + 1, moved);
+            System.arraycopy(tempMax, index, tempMax, index + 1, moved);
+        }
+        buckets[index] = bucket;
+        rpmCount[index] = 0;
+        rpmSum[index] = 0;
+        tempCount[index] = 0;
+        tempSum[index] = 0;
+        size++;
+    }
+
+    private void grow(int capacity) {
+        buckets = Arrays.copyOf(buckets, capacity);
+        rpmCount = Arrays.copyOf(rpmCount, capacity);
+        rpmSum = Arrays.copyOf(rpmSum, capacity);
+        rpmMin = Arrays.copyOf(rpmMin, capacity);
+        rpmMax = Arrays.copyOf(rpmMax, capacity);
+        tempCount = Arrays.copyOf(tempCount, capacity);
+        tempSum = Arrays.copyOf(tempSum, capacity);
+        tempMin = Arrays.copyOf(tempMin, capacity);
+        tempMax = Arrays.copyOf(tempMax, capacity);
+    }
+
+    private static void merge(int index, int[] count, long[] sum, int[] min, int[] max, int value) {
+        if (count[index] == 0) {
+            min[index] = value;
+            max[index] = value;
+        } else {
+            min[index] = Math.min(min[index], value);
+            max[index] = Math.max(max[index], value);
+        }
+        count[index]++;
+        sum[index] += value;
+    }
+
+    private void putColumn(ByteBuffer buffer, int[] column) {
+        for (int i = 0; i < size; i++) {
+            buffer.putInt(column[i]);
+        }
+    }
+
+    private void putColumn(ByteBuffer buffer, long[] column) {
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(column[i]);
+        }
+    }
+
+    private static void getColumn(ByteBuffer buffer, int[] column, int size) {
+        for (int i = 0; i < size; i++) {
+            column[i] = buffer.getInt();
+        }
+    }
+
+    private static void getColumn(ByteBuffer buffer, long[] column, int size) {
+        for (int i = 0; i < size; i++) {
+            column[i] = buffer.getLong();
+        }
+    }
+
+    @FunctionalInterface
+    interface BucketVisitor {
+        void visit(long bucket,
+                   int rpmCount, long rpmSum, int rpmMin, int rpmMax,
+                   int tempCount, long tempSum, int tempMin, int tempMax);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.gogo.telemetry;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All tiers of one VIN. Chunks in each tier are ordered by first bucket and only the last one
+ * accepts new buckets; a reading older than the start of the last chunk of any tier is rejected
+ * as late. Each tier holds a suffix of its chunks: older ones are evicted once persisted
+ * and read back from telemetry_chunks when a query reaches them.
+ */
+final class TelemetrySeries {
+
+    private final String vin;
+    private final Map<Resolution, List<SeriesChunk>> tiers = new EnumMap<>(Resolution.class);
+
+    TelemetrySeries(String vin) {
+        this.vin = vin;
+        for (Resolution resolution : Resolution.values()) {
+            tiers.put(resolution, new ArrayList<>());
+        }
+    }
+
+    String vin() {
+        return vin;
+    }
+
+    /**
+     * Folds the reading into every tier, or into none when any tier would reject it as late, so
+     * the coarser tiers stay an exact downsample of the finer ones.
+     */
+    synchronized boolean add(long epochSecond, Integer rpm, Integer engineTemp) {
+        for (Resolution resolution : Resolution.values()) {
+            if (!accepts(tiers.get(resolution), resolution.bucketOf(epochSecond))) {
+                return false;
+            }
+        }
+        for (Resolution resolution : Resolution.values()) {
+            append(tiers.get(resolution), resolution.bucketOf(epochSecond), rpm, engineTemp);
+        }
+        return true;
+    }
+
+    /**
+     * Visits the resident buckets in [fromBucket, toBucket) and returns the first resident bucket
+     * of the tier, below which the caller has to read persisted chunks; {@link Long#MAX_VALUE}
+     * when nothing is resident.
+     */
+    synchronized long aggregate(Resolution resolution, long fromBucket, long toBucket, SeriesChunk.BucketVisitor visitor) {
+        List<SeriesChunk> chunks = tiers.get(resolution);
+        for (SeriesChunk chunk : chunks) {
+            if (chunk.lastBucket() >= fromBucket && chunk.firstBucket() < toBucket) {
+                chunk.aggregate(fromBucket, toBucket, visitor);
+            }
+        }
+        return chunks.isEmpty() ? Long.MAX_VALUE : chunks.get(0).firstBucket();
+    }
+
+    /**
+     * Encodes every chunk changed since the last flush and marks it clean. Callers hand failed
+     * chunks back through {@link #flushFailed}.
+     */
+    synchronized List<PendingChunk> drainDirty() {
+        List<PendingChunk> pending = new ArrayList<>();
+        tiers.forEach((resolution, chunks) -> {
+            for (SeriesChunk chunk : chunks) {
+                if (chunk.isDirty()) {
+                    pending.add(new PendingChunk(this, resolution, chunk, chunk.getPersistedId(),
+                            chunk.firstBucket(), chunk.lastBucket(), chunk.size(), chunk.encode()));
+                    chunk.markClean();
+                }
+            }
+        });
+        return pending;
+    }
+
+    synchronized void flushed(SeriesChunk chunk, Long persistedId) {
+        chunk.setPersistedId(persistedId);
+    }
+
+    synchronized void flushFailed(SeriesChunk chunk) {
+        chunk.markDirty();
+    }
+
+    synchronized void load(Resolution resolution, SeriesChunk chunk) {
+        List<SeriesChunk> chunks = tiers.get(resolution);
+        int index = chunks.size();
+        while (index > 0 && chunks.get(index - 1).firstBucket() > chunk.firstBucket()) {
+            index--;
+        }
+        chunks.add(index, chunk);
+    }
+
+    /**
+     * Releases the oldest chunks of each tier that are persisted, unchanged since and end before
+     * the cutoff. The open chunk always stays, so late readings are still judged against it.
+     */
+    synchronized void evict(long beforeEpochSecond) {
+        for (List<SeriesChunk> chunks : tiers.values()) {
+            while (chunks.size() > 1) {
+                SeriesChunk oldest = chunks.get(0);
+                if (oldest.isDirty() || oldest.getPersistedId() == null || oldest.lastBucket() >= beforeEpochSecond) {
+                    break;
+                }
+                chunks.remove(0);
+            }
+        }
+    }
+
+    /**
+     * Drops chunks that end before the cutoff and reports whether the series is now empty.
+     */
+    synchronized boolean trim(Resolution resolution, long cutoffBucket) {
+        tiers.get(resolution).removeIf(chunk -> chunk.lastBucket() < cutoffBucket);
+        return tiers.values().stream().allMatch(List::isEmpty);
+    }
+
+    private static boolean accepts(List<SeriesChunk> chunks, long bucket) {
+        if (chunks.isEmpty()) {
+            return true;
+        }
+        SeriesChunk last = chunks.get(chunks.size() - 1);
+        if (bucket < last.firstBucket()) {
+            return false;
+        }
+        // A full chunk takes its existing buckets; new ones must come after it
+        return !last.isFull() || bucket > last.lastBucket() || last.contains(bucket);
+    }
+
+    private static void append(List<SeriesChunk> chunks, long bucket, Integer rpm, Integer engineTemp) {
+        SeriesChunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (last != null && last.add(bucket, rpm, engineTemp)) {
+            return;
+        }
+        SeriesChunk chunk = new SeriesChunk();
+        chunk.add(bucket, rpm, engineTemp);
+        chunks.add(chunk);
+    }
+
+    record PendingChunk(TelemetrySeries series, Resolution resolution, SeriesChunk chunk, Long persistedId,
+                        long firstBucket, long lastBucket, int size, byte[] payload) {
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.gogo.telemetry;
+
+import com.example.gogo.dto.TelemetryReading;
+import com.example.gogo.dto.TelemetrySeriesResponse;
+import com.example.gogo.entity.TelemetryChunk;
+import com.example.gogo.exception.BadRequestException;
+import com.example.gogo.repository.TelemetryChunkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-VIN time series of rpm and engine temperature readings. Readings are folded into
+ * 1-second, 1-minute and 1-hour buckets as they arrive, held in memory as columnar chunks and
+ * written to telemetry_chunks in the background. Only open chunks and those within the resident
+ * window stay in memory; queries reaching further back decode the persisted chunks. Each tier is
+ * trimmed to its own retention.
+ */
+@Component
+@Slf4j
+public class TelemetryStore {
+
+    // Points returned when the caller lets the store pick the resolution
+    private static final long AUTO_MAX_POINTS = 1000;
+    private static final long MAX_POINTS = 10000;
+
+    private final TelemetryChunkRepository chunkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Resolution, Duration> retention = new EnumMap<>(Resolution.class);
+    private final Duration maxClockSkew;
+    private final Duration residentWindow;
+
+    private final ConcurrentMap<String, TelemetrySeries> series = new ConcurrentHashMap<>();
+
+    public TelemetryStore(TelemetryChunkRepository chunkRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${telemetry.retention.second:PT6H}") Duration secondRetention,
+                          @Value("${telemetry.retention.minute:P7D}") Duration minuteRetention,
+                          @Value("${telemetry.retention.hour:P365D}") Duration hourRetention,
+                          @Value("${telemetry.max-clock-skew:PT1M}") Duration maxClockSkew,
+                          @Value("${telemetry.resident-window:PT1H}") Duration residentWindow) {
+        this.chunkRepository = chunkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.retention.put(Resolution.SECOND, secondRetention);
+        this.retention.put(Resolution.MINUTE, minuteRetention);
+        this.retention.put(Resolution.HOUR, hourRetention);
+        this.maxClockSkew = maxClockSkew;
+        this.residentWindow = residentWindow;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long now = Instant.now().getEpochSecond();
+        long residentFrom = now - residentWindow.getSeconds();
+        int loaded = 0;
+        for (Resolution resolution : Resolution.values()) {
+            long cutoff = cutoff(resolution, now);
+            loaded += transactionTemplate.execute(status -> {
+                int count = 0;
+                try (Stream<TelemetryChunk> rows = chunkRepository.streamResident(resolution, cutoff, residentFrom)) {
+                    for (TelemetryChunk row : (Iterable<TelemetryChunk>) rows::iterator) {
+                        SeriesChunk chunk = SeriesChunk.decode(row.getPayload());
+                        chunk.setPersistedId(row.getId());
+                        series.computeIfAbsent(row.getVin(), TelemetrySeries::new).load(resolution, chunk);
+                        count++;
+                    }
+                }
+                return count;
+            });
+        }
+        log.info("Telemetry loaded: {} chunks for {} vehicles", loaded, series.size());
+    }
+
+    /**
+     * Appends the readings and returns how many were accepted.
+     */
+    public int append(List<TelemetryReading> readings) {
+        long latest = Instant.now().plus(maxClockSkew).getEpochSecond();
+        int[] accepted = new int[1];
+        for (TelemetryReading reading : readings) {
+            long epochSecond = reading.getTimestamp().getEpochSecond();
+            if (epochSecond > latest) {
+                continue;
+            }
+            // Added inside compute so trim() cannot drop the series between lookup and append
+            series.compute(reading.getVin(), (vin, vehicle) -> {
+                TelemetrySeries target = vehicle != null ? vehicle : new TelemetrySeries(vin);
+                if (target.add(epochSecond, reading.getRpm(), reading.getEngineTemp())) {
+                    accepted[0]++;
+                }
+                return target;
+            });
+        }
+        return accepted[0];
+    }
+
+    /**
+     * Aggregates [from, to) for one VIN. With no resolution, picks the finest tier that still
+     * covers {@code from} and keeps the result under {@value #AUTO_MAX_POINTS} points.
+     */
+    public TelemetrySeriesResponse query(String vin, Instant from, Instant to, Resolution resolution) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        long span = to.getEpochSecond() - from.getEpochSecond();
+        Resolution effective = resolution != null ? resolution : pickResolution(from, span);
+        if (span / effective.getStepSeconds() > MAX_POINTS) {
+            throw new BadRequestException("Range too large for resolution " + effective);
+        }
+
+        List<TelemetrySeriesResponse.Point> residentPoints = new ArrayList<>();
+        MetricAccumulator rpmTotal = new MetricAccumulator();
+        MetricAccumulator tempTotal = new MetricAccumulator();
+        SeriesChunk.BucketVisitor residentVisitor = collector(residentPoints, rpmTotal, tempTotal);
+        long fromBucket = effective.bucketOf(from.getEpochSecond());
+        long toBucket = to.getEpochSecond();
+        TelemetrySeries vehicle = series.get(vin);
+        long residentFrom = vehicle != null
+                ? vehicle.aggregate(effective, fromBucket, toBucket, residentVisitor)
+                : Long.MAX_VALUE;
+
+        // Evicted chunks all start before the first resident one, so the two never overlap
+        List<TelemetrySeriesResponse.Point> points = new ArrayList<>();
+        if (fromBucket < residentFrom) {
+            SeriesChunk.BucketVisitor persistedVisitor = collector(points, rpmTotal, tempTotal);
+            for (TelemetryChunk row : chunkRepository.findRange(vin, effective, fromBucket, Math.min(toBucket, residentFrom))) {
+                SeriesChunk.decode(row.getPayload()).aggregate(fromBucket, toBucket, persistedVisitor);
+            }
+        }
+        points.addAll(residentPoints);
+
+        return TelemetrySeriesResponse.builder()
+                .vin(vin)
+                .resolution(effective)
+                .from(from)
+                .to(to)
+                .points(points)
+                .rpm(rpmTotal.toAggregate())
+                .engineTemp(tempTotal.toAggregate())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${telemetry.flush-interval:PT10S}",
+            initialDelayString = "${telemetry.flush-interval:PT10S}")
+    public void flush() {
+        List<TelemetrySeries.PendingChunk> pending = new ArrayList<>();
+        series.values().forEach(vehicle -> pending.addAll(vehicle.drainDirty()));
+
+        if (!pending.isEmpty()) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> persist(pending));
+                for (int i = 0; i < pending.size(); i++) {
+                    pending.get(i).series().flushed(pending.get(i).chunk(), ids.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Telemetry flush failed, {} chunks will be retried", pending.size(), e);
+                pending.forEach(chunk -> chunk.series().flushFailed(chunk.chunk()));
+            }
+        }
+
+        long residentFrom = Instant.now().minus(residentWindow).getEpochSecond();
+        series.values().forEach(vehicle -> vehicle.evict(residentFrom));
+        trim();
+    }
+
+    private List<Long> persist(List<TelemetrySeries.PendingChunk> pending) {
+        List<Long> ids = new ArrayList<>(pending.size());
+        for (TelemetrySeries.PendingChunk chunk : pending) {
+            if (chunk.persistedId() != null) {
+                chunkRepository.updatePayload(chunk.persistedId(), chunk.lastBucket(), chunk.size(), chunk.payload());
+                ids.add(chunk.persistedId());
+            } else {
+                ids.add(chunkRepository.save(TelemetryChunk.builder()
+                        .vin(chunk.series().vin())
+                        .resolution(chunk.resolution())
+                        .startBucket(chunk.firstBucket())
+                        .endBucket(chunk.lastBucket())
+                        .bucketCount(chunk.size())
+                        .payload(chunk.payload())
+                        .build()).getId());
+            }
+        }
+        return ids;
+    }
+
+    private void trim() {
+        long now = Instant.now().getEpochSecond();
+        for (Resolution resolution : Resolution.values()) {
+            long cutoff = cutoff(resolution, now);
+            for (String vin : series.keySet()) {
+                series.computeIfPresent(vin, (key, vehicle) -> vehicle.trim(resolution, cutoff) ? null : vehicle);
+            }
+            int deleted = transactionTemplate.execute(status -> chunkRepository.deleteExpired(resolution, cutoff));
+            if (deleted > 0) {
+                log.debug("Dropped {} expired {} telemetry chunks", deleted, resolution);
+            }
+        }
+    }
+
+    private static SeriesChunk.BucketVisitor collector(List<TelemetrySeriesResponse.Point> points,
+                                                       MetricAccumulator rpmTotal, MetricAccumulator tempTotal) {
+        return (bucket, rpmCount, rpmSum, rpmMin, rpmMax, tempCount, tempSum, tempMin, tempMax) -> {
+            points.add(new TelemetrySeriesResponse.Point(Instant.ofEpochSecond(bucket),
+                    MetricAccumulator.toAggregate(rpmCount, rpmSum, rpmMin, rpmMax),
+                    MetricAccumulator.toAggregate(tempCount, tempSum, tempMin, tempMax)));
+            rpmTotal.add(rpmCount, rpmSum, rpmMin, rpmMax);
+            tempTotal.add(tempCount, tempSum, tempMin, tempMax);
+        };
+    }
+
+    private Resolution pickResolution(Instant from, long span) {
+        long now = Instant.now().getEpochSecond();
+        for (Resolution resolution : Resolution.values()) {
+            if (from.getEpochSecond() >= cutoff(resolution, now) && span / resolution.getStepSeconds() <= AUTO_MAX_POINTS) {
+                return resolution;
+            }
+        }
+        return Resolution.HOUR;
+    }
+
+    private long cutoff(Resolution resolution, long now) {
+        return resolution.bucketOf(now - retention.get(resolution).getSeconds());
+    }
+
+    private static final class MetricAccumulator {
+        private long count;
+        private long sum;
+        private int min = Integer.MAX_VALUE;
+        private int max = Integer.MIN_VALUE;
+
+        void add(int bucketCount, long bucketSum, int bucketMin, int bucketMax) {
+            if (bucketCount == 0) {
+                return;
+            }
+            count += bucketCount;
+            sum += bucketSum;
+            min = Math.min(min, bucketMin);
+            max = Math.max(max, bucketMax);
+        }
+
+        TelemetrySeriesResponse.Aggregate toAggregate() {
+            return count == 0
+                    ? new TelemetrySeriesResponse.Aggregate(0, null, null, null)
+                    : new TelemetrySeriesResponse.Aggregate(count, min, max, (double) sum / count);
+        }
+
+        static TelemetrySeriesResponse.Aggregate toAggregate(int count, long sum, int min, int max) {
+            return count == 0
+                    ? new TelemetrySeriesResponse.Aggregate(0, null, null, null)
+                    : new TelemetrySeriesResponse.Aggregate(count, min, max, (double) sum / count);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.gogo.token;
+
+import com.example.gogo.dto.UserDto;
+import com.example.gogo.security.TokenHasher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Keeps live refresh tokens in memory, ordered by expiry for sweeping, and persists every change
+ * through a write-behind {@link RefreshTokenJournal} that is replayed on startup. Changes made
+ * within the last flush interval before a crash are lost, which only forces those clients to log in again.
+ * Revoked tokens are kept for the revoked-retention window only, long enough to detect reuse.
+ *
+ * Single instance only: the tokens live in this process, so a second replica would neither see
+ * tokens issued here nor revocations made here. Startup fails if another process holds the
+ * journal's lock file; replicas on separate volumes cannot be detected and must use the jpa store.
+ *
+ * Journal records: {@code U|hash|family|userId|expiresAtMillis|revoked|email|username} with the
+ * email URL-encoded, {@code R|hash|keepUntilMillis} and {@code F|familyId|keepUntilMillis}. Issue
+ * records of the older {@code I} form have no email field and replay with none. Replay is
+ * idempotent; issue records never overwrite, and unreadable lines (such as a torn last write) are skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "memory")
+@Slf4j
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final ConcurrentHashMap<String, StoredRefreshToken> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> families = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Expiry> expiryQueue = new ConcurrentSkipListSet<>();
+    private final RefreshTokenJournal journal;
+    private final Duration lifetime;
+    private final Duration revokedRetention;
+    private final long compactionThreshold;
+
+    public InMemoryRefreshTokenStore(@Value("${auth.refresh-token.lifetime:P7D}") Duration lifetime,
+                                     @Value("${auth.refresh-token.revoked-retention:P1D}") Duration revokedRetention,
+                                     @Value("${auth.refresh-token.journal.path:data/refresh-tokens.journal}") Path journalPath,
+                                     @Value("${auth.refresh-token.journal.batch-size:512}") int batchSize,
+                                     @Value("${auth.refresh-token.journal.flush-interval:50}") long flushIntervalMillis,
+                                     @Value("${auth.refresh-token.journal.compaction-threshold:1000000}") long compactionThreshold) {
+        this.lifetime = lifetime;
+        this.revokedRetention = revokedRetention;
+        this.compactionThreshold = compactionThreshold;
+        this.journal = new RefreshTokenJournal(journalPath, batchSize, flushIntervalMillis, this::snapshot);
+    }
+
+    @PostConstruct
+    public void recover() throws IOException {
+        journal.lock();
+        List<String> records = journal.replay();
+        for (String record : records) {
+            try {
+                apply(record);
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable refresh token journal record: {}", record);
+            }
+        }
+        journal.start();
+        log.info("Recovered {} refresh tokens from {} journal records", tokens.size(), records.size());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    @Override
+    public String issue(UserDto user, String familyId) {
+        String token = UUID.randomUUID().toString();
+        StoredRefreshToken stored = new StoredRefreshToken(TokenHasher.sha256(token), familyId, user.getId(),
+                user.getUsername(), user.getEmail(), LocalDateTime.now().plus(lifetime), false);
+        put(stored);
+        journal.append(issueRecord(stored));
+        return token;
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(String rawToken) {
+        return Optional.ofNullable(tokens.get(TokenHasher.sha256(rawToken)));
+    }
+
+    @Override
+    public void revoke(String tokenHash) {
+        LocalDateTime keepUntil = LocalDateTime.now().plus(revokedRetention);
+        if (revokeToken(tokenHash, keepUntil)) {
+            journal.append("R|" + tokenHash + "|" + toMillis(keepUntil));
+        }
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        LocalDateTime keepUntil = LocalDateTime.now().plus(revokedRetention);
+        if (revokeFamilyMembers(familyId, keepUntil)) {
+            journal.append("F|" + familyId + "|" + toMillis(keepUntil));
+        }
+    }
+
+    @Override
+    public void revokeFamilyOfToken(String rawToken) {
+        find(rawToken).ifPresent(token -> revokeFamily(token.familyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.sweep-interval:PT1M}")
+    public void evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Iterator<Expiry> iterator = expiryQueue.iterator();
+        while (iterator.hasNext()) {
+            Expiry expiry = iterator.next();
+            if (expiry.expiresAt().isAfter(now)) {
+                break;
+            }
+            iterator.remove();
+            StoredRefreshToken removed = tokens.remove(expiry.tokenHash());
+            if (removed != null) {
+                families.computeIfPresent(removed.familyId(), (familyId, members) -> {
+                    members.remove(removed.tokenHash());
+                    return members.isEmpty() ? null : members;
+                });
+            }
+        }
+
+        // Expired tokens are dropped from the file by rewriting it from the live set
+        if (journal.getAppendedSinceCompaction() >= compactionThreshold) {
+            journal.requestCompaction();
+        }
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private void put(StoredRefreshToken stored) {
+        if (tokens.putIfAbsent(stored.tokenHash(), stored) != null) {
+            return;
+        }
+        families.compute(stored.familyId(), (familyId, members) -> {
+            Set<String> updated = members != null ? members : ConcurrentHashMap.newKeySet();
+            updated.add(stored.tokenHash());
+            return updated;
+        });
+        expiryQueue.add(new Expiry(stored.expiresAt(), stored.tokenHash()));
+    }
+
+    private boolean revokeFamilyMembers(String familyId, LocalDateTime keepUntil) {
+        Set<String> members = families.get(familyId);
+        if (members == null) {
+            return false;
+        }
+        for (String tokenHash : members) {
+            revokeToken(tokenHash, keepUntil);
+        }
+        return true;
+    }
+
+    private boolean revokeToken(String tokenHash, LocalDateTime keepUntil) {
+        return tokens.computeIfPresent(tokenHash, (hash, token) -> {
+            StoredRefreshToken revoked = token.asRevoked(keepUntil);
+            if (!revoked.expiresAt().equals(token.expiresAt())) {
+                // Re-queue under the shorter deadline so the sweep drops it after the retention window
+                expiryQueue.remove(new Expiry(token.expiresAt(), hash));
+                expiryQueue.add(new Expiry(revoked.expiresAt(), hash));
+            }
+            return revoked;
+        }) != null;
+    }
+
+    private void apply(String record) {
+        String[] fields = record.split("\\|", record.startsWith("U|") ? 8 : 7);
+        switch (fields[0]) {
+            case "U", "I" -> {
+                LocalDateTime expiresAt = fromMillis(fields[4]);
+                if (expiresAt.isAfter(LocalDateTime.now())) {
+                    boolean withEmail = "U".equals(fields[0]);
+                    String email = withEmail && !fields[6].isEmpty() ? URLDecoder.decode(fields[6], StandardCharsets.UTF_8) : null;
+                    put(new StoredRefreshToken(fields[1], fields[2], Long.valueOf(fields[3]), fields[withEmail ? 7 : 6],
+                            email, expiresAt, "1".equals(fields[5])));
+                }
+            }
+            case "R" -> revokeToken(fields[1], keepUntil(fields));
+            case "F" -> revokeFamilyMembers(fields[1], keepUntil(fields));
+            default -> log.warn("Skipping unknown refresh token journal record type {}", fields[0]);
+        }
+    }
+
+    private Collection<String> snapshot() {
+        List<String> records = new ArrayList<>(tokens.size());
+        tokens.values().forEach(token -> records.add(issueRecord(token)));
+        return records;
+    }
+
+    // Records written before revocations carried a deadline start the retention window at replay
+    private LocalDateTime keepUntil(String[] fields) {
+        return fields.length > 2 ? fromMillis(fields[2]) : LocalDateTime.now().plus(revokedRetention);
+    }
+
+    private static String issueRecord(StoredRefreshToken token) {
+        // Usernames may contain '|' and so go last; an email may too and is encoded
+        String email = token.email() != null ? URLEncoder.encode(token.email(), StandardCharsets.UTF_8) : "";
+        return "U|" + token.tokenHash() + "|" + token.familyId() + "|" + token.userId() + "|"
+                + toMillis(token.expiresAt()) + "|" + (token.revoked() ? "1" : "0") + "|" + email + "|" + token.username();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(String millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(millis)), ZONE);
+    }
+
+    private record Expiry(LocalDateTime expiresAt, String tokenHash) implements Comparable<Expiry> {
+
+        @Override
+        public int compareTo(Expiry other) {
+            int byTime = expiresAt.compareTo(other.expiresAt);
+            return byTime != 0 ? byTime : tokenHash.compareTo(other.tokenHash);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.gogo.token;
+
+import com.example.gogo.dto.UserDto;
+import com.example.gogo.entity.RefreshToken;
+import com.example.gogo.repository.RefreshTokenRepository;
+import com.example.gogo.repository.UserRepository;
+import com.example.gogo.security.TokenHasher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+
+    @Value("${auth.refresh-token.lifetime:P7D}")
+    private Duration lifetime;
+
+    @Override
+    public String issue(UserDto user, String familyId) {
+        String token = UUID.randomUUID().toString();
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(TokenHasher.sha256(token))
+                .familyId(familyId)
+                // A reference for the foreign key; the user row is not read
+                .user(userRepository.getReferenceById(user.getId()))
+                .expiresAt(LocalDateTime.now().plus(lifetime))
+                .revoked(false)
+                .build();
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(String rawToken) {
+        return refreshTokenRepository.findStoredByTokenHash(TokenHasher.sha256(rawToken));
+    }
+
+    @Override
+    public void revoke(String tokenHash) {
+        refreshTokenRepository.revokeByTokenHash(tokenHash, LocalDateTime.now());
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+    }
+
+    @Override
+    public void revokeFamilyOfToken(String rawToken) {
+        refreshTokenRepository.revokeFamilyOfToken(TokenHasher.sha256(rawToken), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.gogo.token;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Append-only, line-based journal written behind the caller by a single thread. Records are
+ * queued in memory and written and fsynced in batches; compaction replaces the file with a
+ * snapshot on the same thread, so appends and rewrites never interleave. A failed write is
+ * recovered by compacting: the snapshot already reflects the records that were lost.
+ * A lock file next to the journal keeps a second process from opening it.
+ */
+@Slf4j
+class RefreshTokenJournal implements Closeable {
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final Path path;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Supplier<Collection<String>> snapshot;
+    private final BlockingQueue<String> pending = new LinkedBlockingQueue<>();
+    private final AtomicBoolean compactionRequested = new AtomicBoolean();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile long appendedSinceCompaction;
+    private FileChannel channel;
+    private FileChannel lockChannel;
+
+    RefreshTokenJournal(Path path, int batchSize, long flushIntervalMillis, Supplier<Collection<String>> snapshot) {
+        this.path = path;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.snapshot = snapshot;
+        this.writer = new Thread(this::run, "refresh-token-journal");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Takes the journal's lock file, failing if another instance already holds it.
+     */
+    void lock() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        lockChannel = FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            lockChannel = null;
+            throw new IllegalStateException("Refresh token journal " + path + " is in use by another instance;"
+                    + " the memory store supports a single instance only");
+        }
+    }
+
+    List<String> replay() throws IOException {
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        return Files.readAllLines(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compacts the replayed file and starts the writer thread.
+     */
+    void start() throws IOException {
+        compact();
+        writer.start();
+    }
+
+    void append(String record) {
+        pending.add(record);
+    }
+
+    void requestCompaction() {
+        compactionRequested.set(true);
+    }
+
+    long getAppendedSinceCompaction() {
+        return appendedSinceCompaction;
+    }
+
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                if (compactionRequested.getAndSet(false)) {
+                    compact();
+                }
+                String first = pending.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pending.drainTo(batch, batchSize - 1);
+                    write(channel, batch);
+                    appendedSinceCompaction += batch.size();
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (IOException e) {
+                // The file may now end in a torn line; rewriting it from the live set restores the
+                // lost records (their changes are already in memory) and replaces the broken tail
+                log.error("Failed to write {} refresh token journal records, rewriting the journal", batch.size(), e);
+                batch.clear();
+                compactionRequested.set(true);
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    running = false;
+                }
+            }
+        }
+    }
+
+    // Package-private so tests can inject write failures
+    void write(FileChannel target, Collection<String> records) throws IOException {
+        StringBuilder buffer = new StringBuilder(records.size() * 96);
+        for (String record : records) {
+            buffer.append(record).append('\n');
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(buffer.toString());
+        while (bytes.hasRemaining()) {
+            target.write(bytes);
+        }
+        target.force(false);
+    }
+
+    private void compact() throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(out, snapshot.get());
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        FileChannel previous = channel;
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (previous != null) {
+            previous.close();
+        }
+        appendedSinceCompaction = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+        if (lockChannel != null) {
+            // Closing the channel releases the lock
+            lockChannel.close();
+        }
+    }
+}
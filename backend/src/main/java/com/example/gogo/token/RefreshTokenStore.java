@@ -0,0 +1,22 @@
+package com.example.gogo.token;
+
+import com.example.gogo.dto.UserDto;
+
+import java.util.Optional;
+
+public interface RefreshTokenStore {
+
+    /**
+     * Issues a new refresh token in the given family and returns the raw token value. Only the
+     * user's id, username and email are kept with it.
+     */
+    String issue(UserDto user, String familyId);
+
+    Optional<StoredRefreshToken> find(String rawToken);
+
+    void revoke(String tokenHash);
+
+    void revokeFamily(String familyId);
+
+    void revokeFamilyOfToken(String rawToken);
+}
@@ -0,0 +1,28 @@
+package com.example.gogo.token;
+
+import java.time.LocalDateTime;
+
+/**
+ * A refresh token as the stores hold it, with enough of its user to issue the next access token
+ * and answer the client without loading the user.
+ */
+public record StoredRefreshToken(String tokenHash,
+                                 String familyId,
+                                 Long userId,
+                                 String username,
+                                 String email,
+                                 LocalDateTime expiresAt,
+                                 boolean revoked) {
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(expiresAt);
+    }
+
+    /**
+     * The revoked copy, kept no later than {@code keepUntil} for reuse detection.
+     */
+    StoredRefreshToken asRevoked(LocalDateTime keepUntil) {
+        LocalDateTime until = keepUntil.isBefore(expiresAt) ? keepUntil : expiresAt;
+        return new StoredRefreshToken(tokenHash, familyId, userId, username, email, until, true);
+    }
+}
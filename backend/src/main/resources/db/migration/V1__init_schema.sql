@@ -0,0 +1,60 @@
+-- Baseline schema. Written for both H2 (dev) and PostgreSQL (production).
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL,
+    email      VARCHAR(100) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP    NOT NULL,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Increment matches the pooled allocation size on Item so inserts can be batched
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+
+-- status and engine_type hold the codes of DiagnosticStatus and EngineType
+CREATE TABLE items (
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    title           VARCHAR(255) NOT NULL,
+    description     TEXT,
+    vin             VARCHAR(17),
+    chassis_number  VARCHAR(32),
+    vehicle_model   VARCHAR(64),
+    model_year      SMALLINT,
+    rpm             INTEGER,
+    engine_temp     INTEGER,
+    mileage         INTEGER,
+    diagnostic_date TIMESTAMP,
+    status          SMALLINT,
+    technician      VARCHAR(100),
+    engine_type     SMALLINT,
+    user_id         BIGINT,
+    created_at      TIMESTAMP    NOT NULL,
+    updated_at      TIMESTAMP,
+    CONSTRAINT uk_items_vin UNIQUE (vin),
+    CONSTRAINT fk_items_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_items_created_at_id ON items (created_at DESC, id DESC);
+CREATE INDEX idx_items_user_id_created_at ON items (user_id, created_at);
+CREATE INDEX idx_items_status_created_at ON items (status, created_at);
+CREATE INDEX idx_items_diagnostic_date ON items (diagnostic_date);
+CREATE INDEX idx_items_chassis_number ON items (chassis_number);
+
+CREATE TABLE refresh_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id  VARCHAR(36) NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    expires_at TIMESTAMP   NOT NULL,
+    created_at TIMESTAMP   NOT NULL,
+    revoked    BOOLEAN     NOT NULL,
+    revoked_at TIMESTAMP,
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
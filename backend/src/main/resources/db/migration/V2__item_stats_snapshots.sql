@@ -0,0 +1,9 @@
+-- Periodic copies of the in-memory fleet statistics (see ItemStatistics)
+CREATE TABLE item_stats_snapshots (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    taken_at    TIMESTAMP NOT NULL,
+    total_items BIGINT    NOT NULL,
+    payload     TEXT      NOT NULL
+);
+
+CREATE INDEX idx_item_stats_snapshots_taken_at ON item_stats_snapshots (taken_at);
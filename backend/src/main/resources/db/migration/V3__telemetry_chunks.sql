@@ -0,0 +1,14 @@
+-- Per-VIN sensor time series. Each row is one columnar chunk of up to 512 buckets
+-- (see SeriesChunk); resolution is SECOND, MINUTE or HOUR.
+CREATE TABLE telemetry_chunks (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    vin          VARCHAR(17) NOT NULL,
+    resolution   VARCHAR(8)  NOT NULL,
+    start_bucket BIGINT      NOT NULL,
+    end_bucket   BIGINT      NOT NULL,
+    bucket_count INTEGER     NOT NULL,
+    payload      BYTEA       NOT NULL,
+    CONSTRAINT uk_telemetry_chunks_series_start UNIQUE (vin, resolution, start_bucket)
+);
+
+CREATE INDEX idx_telemetry_chunks_resolution_end ON telemetry_chunks (resolution, end_bucket);
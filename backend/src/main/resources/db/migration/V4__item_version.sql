@@ -0,0 +1,5 @@
+-- Optimistic-locking version for items, also served as the item ETag
+ALTER TABLE items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- Backs MAX(updated_at) in the collection ETag watermark
+CREATE INDEX idx_items_updated_at ON items (updated_at);
@@ -0,0 +1,2 @@
+-- Lets the purge find revoked tokens past the retention window without scanning the table
+CREATE INDEX idx_refresh_tokens_revoked_at ON refresh_tokens (revoked_at);
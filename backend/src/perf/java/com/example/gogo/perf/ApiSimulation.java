@@ -0,0 +1,176 @@
+package com.example.gogo.perf;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.CheckBuilder;
+import io.gatling.javaapi.core.PopulationBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import io.gatling.javaapi.http.HttpRequestActionBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Load scenarios for the REST API, run one after another so each gets the server to itself:
+ * login storm, refresh churn, list/search/paginate, bulk create and mixed CRUD.
+ *
+ * <p>Tuned with system properties (passed through by the perfTest task):
+ * perf.baseUrl, perf.scenarios (comma list, default all), perf.users (arrivals per second),
+ * perf.duration (seconds per scenario), perf.seedUsers (generated users to log in as) and
+ * perf.maxP99Ms (fails the run when exceeded).
+ */
+public class ApiSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("perf.baseUrl", "http://localhost:18080");
+    private static final List<String> SCENARIOS = Arrays.asList(
+            System.getProperty("perf.scenarios", "login,refresh,browse,bulk,crud").split(","));
+    private static final int USERS_PER_SECOND = Integer.getInteger("perf.users", 20);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("perf.duration", 60));
+    private static final int SEED_USERS = Integer.getInteger("perf.seedUsers", 200);
+    private static final int MAX_P99_MS = Integer.getInteger("perf.maxP99Ms", 2000);
+
+    private static final String[] SEARCH_TERMS = {"Sonata", "Tucson", "Theta", "KMHXX0000001", "Sarah", "Electric"};
+    private static final String[] STATUSES = {"NORMAL", "WARNING", "CRITICAL"};
+    private static final int BULK_SIZE = 500;
+
+    // Gatling replays ETags as If-None-Match, so an unchanged list or item answers 304
+    private static final CheckBuilder READ_OK = status().in(200, 304);
+
+    // Keeps VINs unique across every bulk and CRUD request of a run
+    private static final AtomicLong VIN_SEQUENCE = new AtomicLong(System.currentTimeMillis() % 1_000_000_000L * 1000);
+
+    private final HttpProtocolBuilder protocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json");
+
+    // Generated seed users (user00003 ...) all share the same password
+    private final Iterator<Map<String, Object>> credentials = Stream.iterate(0, i -> i + 1)
+            .map(i -> Map.<String, Object>of("username", String.format("user%05d", 3 + i % Math.max(1, SEED_USERS - 2)),
+                    "password", "password123"))
+            .iterator();
+
+    private final ChainBuilder login = feed(credentials)
+            .exec(http("login").post("/api/auth/login")
+                    .body(StringBody("{\"userId\":\"#{username}\",\"password\":\"#{password}\"}"))
+                    .check(status().is(200))
+                    .check(jsonPath("$.accessToken").saveAs("accessToken"))
+                    .check(jsonPath("$.refreshToken").saveAs("refreshToken")));
+
+    private final ScenarioBuilder loginStorm = scenario("login storm")
+            .exec(login);
+
+    private final ScenarioBuilder refreshChurn = scenario("refresh churn")
+            .exec(login)
+            .repeat(10).on(
+                    exec(http("refresh").post("/api/auth/refresh")
+                            .body(StringBody("{\"refreshToken\":\"#{refreshToken}\"}"))
+                            .check(status().is(200))
+                            .check(jsonPath("$.refreshToken").saveAs("refreshToken")))
+            );
+
+    private final ScenarioBuilder browse = scenario("list search paginate")
+            .exec(login)
+            .repeat(5).on(
+                    exec(session -> session
+                            .set("page", ThreadLocalRandom.current().nextInt(50))
+                            .set("term", SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)])
+                            .set("status", STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)])
+                            .set("cursor", ""))
+                            .exec(authorized(http("list page").get("/api/items?page=#{page}&size=20")).check(READ_OK))
+                            .exec(authorized(http("search").get("/api/items?search=#{term}&size=20")).check(READ_OK))
+                            .exec(authorized(http("filter").get("/api/items?status=#{status}&minEngineTemp=90&size=20")).check(READ_OK))
+                            .repeat(5).on(
+                                    exec(authorized(http("cursor page").get("/api/items?cursor=#{cursor}&size=20"))
+                                            .check(READ_OK)
+                                            .check(jsonPath("$.nextCursor").optional().saveAs("cursor")))
+                            )
+                            .exec(authorized(http("stats").get("/api/items/stats")).check(status().is(200)))
+            );
+
+    private final ScenarioBuilder bulkCreate = scenario("bulk create")
+            .exec(login)
+            .exec(authorized(http("bulk create").post("/api/items/bulk"))
+                    .body(StringBody(session -> bulkBody()))
+                    .check(status().is(200))
+                    .check(jsonPath("$.created").ofInt().is(BULK_SIZE)));
+
+    private final ScenarioBuilder mixedCrud = scenario("mixed crud")
+            .exec(login)
+            .repeat(5).on(
+                    exec(authorized(http("create").post("/api/items"))
+                            .body(StringBody(session -> itemJson(VIN_SEQUENCE.incrementAndGet(), "NORMAL")))
+                            .check(status().is(200))
+                            .check(jsonPath("$.id").saveAs("itemId")))
+                            .exec(authorized(http("get").get("/api/items/#{itemId}")).check(READ_OK))
+                            .exec(authorized(http("update").put("/api/items/#{itemId}"))
+                                    .body(StringBody(session -> itemJson(VIN_SEQUENCE.incrementAndGet(), "CRITICAL")))
+                                    .check(status().is(200)))
+                            .exec(authorized(http("list page").get("/api/items?page=0&size=20")).check(READ_OK))
+                            .exec(authorized(http("delete").delete("/api/items/#{itemId}")).check(status().is(204)))
+            );
+
+    {
+        List<PopulationBuilder> phases = new ArrayList<>();
+        for (String name : SCENARIOS) {
+            ScenarioBuilder scenario = switch (name.trim()) {
+                case "login" -> loginStorm;
+                case "refresh" -> refreshChurn;
+                case "browse" -> browse;
+                case "bulk" -> bulkCreate;
+                case "crud" -> mixedCrud;
+                default -> throw new IllegalArgumentException("Unknown perf scenario: " + name);
+            };
+            phases.add(scenario.injectOpen(constantUsersPerSec(USERS_PER_SECOND).during(DURATION)));
+        }
+
+        PopulationBuilder chain = phases.get(0);
+        for (int i = 1; i < phases.size(); i++) {
+            chain = chain.andThen(phases.get(i));
+        }
+
+        setUp(chain)
+                .protocols(protocol)
+                .assertions(
+                        global().failedRequests().percent().lt(1.0),
+                        global().responseTime().percentile(99.0).lt(MAX_P99_MS)
+                );
+    }
+
+    private static HttpRequestActionBuilder authorized(HttpRequestActionBuilder request) {
+        return request.header("Authorization", "Bearer #{accessToken}");
+    }
+
+    private static String bulkBody() {
+        StringBuilder body = new StringBuilder(BULK_SIZE * 400).append('[');
+        for (int i = 0; i < BULK_SIZE; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(itemJson(VIN_SEQUENCE.incrementAndGet(), STATUSES[i % STATUSES.length]));
+        }
+        return body.append(']').toString();
+    }
+
+    private static String itemJson(long sequence, String status) {
+        String vin = String.format("PF%015d", sequence);
+        return "{\"title\":\"Perf Engine - VIN: " + vin + "\"," +
+                "\"description\":\"Vehicle Model: Kona | Year: 2024 | Status: " + status + "\"," +
+                "\"vin\":\"" + vin + "\",\"chassisNumber\":\"PF" + sequence % 10_000_000_000L + "\"," +
+                "\"vehicleModel\":\"Kona\",\"modelYear\":2024,\"rpm\":3100,\"engineTemp\":88,\"mileage\":12000," +
+                "\"diagnosticDate\":\"2025-01-15T10:00:00\",\"status\":\"" + status + "\"," +
+                "\"technician\":\"Perf Runner\",\"engineType\":\"SMARTSTREAM\"}";
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.gogo.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Flattens the latest Gatling run and the JMH results into one CSV with a row per request or
+ * benchmark, so runs can be diffed. If a baseline CSV from an earlier run is given, rows whose
+ * throughput dropped, or whose p99 grew, by more than the tolerance are flagged. With
+ * --fail-on-regression the exit code is 1 when any row is flagged.
+ *
+ * <pre>
+ * PerfReport --gatling build/reports/gatling --jmh build/results/jmh/results.json \
+ *            --out build/reports/perf --baseline perf-baseline.csv --tolerance 10
+ * </pre>
+ */
+public final class PerfReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private PerfReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        Path out = Path.of(options.getOrDefault("--out", "build/reports/perf"));
+        double tolerance = Double.parseDouble(options.getOrDefault("--tolerance", "10")) / 100.0;
+
+        List<Row> rows = new ArrayList<>();
+        if (options.containsKey("--gatling")) {
+            latestRun(Path.of(options.get("--gatling"))).ifPresent(stats -> rows.addAll(readGatling(stats)));
+        }
+        if (options.containsKey("--jmh") && Files.exists(Path.of(options.get("--jmh")))) {
+            rows.addAll(readJmh(Path.of(options.get("--jmh"))));
+        }
+
+        Map<String, Row> baseline = options.containsKey("--baseline") && Files.exists(Path.of(options.get("--baseline")))
+                ? readCsv(Path.of(options.get("--baseline")))
+                : Map.of();
+
+        Files.createDirectories(out);
+        int regressions = 0;
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(out.resolve("summary.csv")));
+             PrintWriter markdown = new PrintWriter(Files.newBufferedWriter(out.resolve("summary.md")))) {
+            csv.println("source,name,count,errors,throughput,p50_ms,p95_ms,p99_ms");
+            markdown.println("| source | name | count | errors | throughput | p50 ms | p95 ms | p99 ms | vs baseline |");
+            markdown.println("|---|---|---:|---:|---:|---:|---:|---:|---|");
+            for (Row row : rows) {
+                String comparison = compare(row, baseline.get(row.key()), tolerance);
+                if (comparison.startsWith("REGRESSION")) {
+                    regressions++;
+                }
+                csv.println(row.toCsv());
+                markdown.printf(Locale.ROOT, "| %s | %s | %d | %d | %.1f | %.1f | %.1f | %.1f | %s |%n",
+                        row.source(), row.name(), row.count(), row.errors(), row.throughput(),
+                        row.p50(), row.p95(), row.p99(), comparison);
+            }
+        }
+
+        System.out.printf("Perf summary: %d rows, %d regressions -> %s%n", rows.size(), regressions, out.resolve("summary.md"));
+        if (regressions > 0 && options.containsKey("--fail-on-regression")) {
+            System.exit(1);
+        }
+    }
+
+    private static String compare(Row current, Row base, double tolerance) {
+        if (base == null) {
+            return "new";
+        }
+        double throughputChange = base.throughput() > 0 ? (current.throughput() - base.throughput()) / base.throughput() : 0;
+        double p99Change = base.p99() > 0 ? (current.p99() - base.p99()) / base.p99() : 0;
+        String change = String.format(Locale.ROOT, "throughput %+.1f%%, p99 %+.1f%%", throughputChange * 100, p99Change * 100);
+        boolean regressed = throughputChange < -tolerance || p99Change > tolerance;
+        return regressed ? "REGRESSION " + change : change;
+    }
+
+    private static Optional<Path> latestRun(Path gatlingDir) throws IOException {
+        if (!Files.isDirectory(gatlingDir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> runs = Files.list(gatlingDir)) {
+            return runs.map(run -> run.resolve("js").resolve("stats.json"))
+                    .filter(Files::exists)
+                    .max(Comparator.comparing(stats -> stats.toFile().lastModified()));
+        }
+    }
+
+    private static List<Row> readGatling(Path statsFile) {
+        List<Row> rows = new ArrayList<>();
+        try {
+            collectGatling(MAPPER.readTree(statsFile.toFile()), rows);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + statsFile, e);
+        }
+        return rows;
+    }
+
+    // Walks the nested group/request tree of stats.json
+    private static void collectGatling(JsonNode node, List<Row> rows) {
+        JsonNode stats = node.path("stats");
+        if (!stats.isMissingNode()) {
+            rows.add(new Row("gatling", stats.path("name").asText(node.path("name").asText()),
+                    stats.path("numberOfRequests").path("total").asLong(),
+                    stats.path("numberOfRequests").path("ko").asLong(),
+                    stats.path("meanNumberOfRequestsPerSecond").path("total").asDouble(),
+                    stats.path("percentiles1").path("total").asDouble(),
+                    stats.path("percentiles3").path("total").asDouble(),
+                    stats.path("percentiles4").path("total").asDouble()));
+        }
+        Iterator<JsonNode> children = node.path("contents").elements();
+        while (children.hasNext()) {
+            collectGatling(children.next(), rows);
+        }
+    }
+
+    private static List<Row> readJmh(Path resultsFile) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        for (JsonNode result : MAPPER.readTree(resultsFile.toFile())) {
+            String name = result.path("benchmark").asText();
+            JsonNode metric = result.path("primaryMetric");
+            // Throughput mode: ops per unit; the latency columns stay empty
+            rows.add(new Row("jmh", name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1),
+                    0, 0, metric.path("score").asDouble(), 0, 0, 0));
+        }
+        return rows;
+    }
+
+    private static Map<String, Row> readCsv(Path file) throws IOException {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        try (Stream<String> lines = Files.lines(file)) {
+            lines.skip(1).map(Row::fromCsv).forEach(row -> rows.put(row.key(), row));
+        }
+        return rows;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+                options.put(args[i], hasValue ? args[++i] : "true");
+            }
+        }
+        return options;
+    }
+
+    private record Row(String source, String name, long count, long errors,
+                       double throughput, double p50, double p95, double p99) {
+
+        String key() {
+            return source + ":" + name;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,\"%s\",%d,%d,%.3f,%.1f,%.1f,%.1f",
+                    source, name.replace("\"", "\"\""), count, errors, throughput, p50, p95, p99);
+        }
+
+        static Row fromCsv(String line) {
+            int nameStart = line.indexOf('"');
+            int nameEnd = line.indexOf("\",", nameStart + 1);
+            String source = line.substring(0, nameStart - 1);
+            String name = line.substring(nameStart + 1, nameEnd).replace("\"\"", "\"");
+            String[] numbers = line.substring(nameEnd + 2).split(",");
+            return new Row(source, name, Long.parseLong(numbers[0]), Long.parseLong(numbers[1]),
+                    Double.parseDouble(numbers[2]), Double.parseDouble(numbers[3]),
+                    Double.parseDouble(numbers[4]), Double.parseDouble(numbers[5]));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.gogo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final ConnectionLimitingDataSource guard = new ConnectionLimitingDataSource(pool, 2, 50);
+
+    @AfterEach
+    void leaveRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void requestThreadsShareTheCapAndCloseReturnsThePermit() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        Connection first = guard.getConnection();
+        guard.getConnection();
+        assertThat(guard.getAvailablePermits()).isZero();
+        assertThatThrownBy(guard::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        assertThat(guard.getAvailablePermits()).isEqualTo(1);
+        assertThat(guard.getConnection()).isNotNull();
+    }
+
+    @Test
+    void workOutsideARequestIsNotCapped() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        for (int i = 0; i < 5; i++) {
+            guard.getConnection();
+        }
+
+        assertThat(guard.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.gogo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaDataSource dataSource;
+
+    @AfterEach
+    void close() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void replicaThatFailsTheStartupCheckNeverServesAConnection() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        // IFEXISTS refuses to create the database, so this replica is unreachable
+        dataSource = replicaDataSource(pool("jdbc:h2:mem:missing-replica;IFEXISTS=TRUE"));
+
+        dataSource.start();
+
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("datasource.replica.usable").gauge().value()).isZero();
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void replicaThatPassesTheStartupCheckIsInRotation() throws Exception {
+        dataSource = replicaDataSource(pool("jdbc:h2:mem:replica-check-test"));
+
+        dataSource.start();
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection).isNotSameAs(primaryConnection);
+        }
+        assertThat(meterRegistry.get("datasource.replica.usable").gauge().value()).isEqualTo(1);
+    }
+
+    private ReplicaDataSource replicaDataSource(HikariDataSource pool) {
+        return new ReplicaDataSource(primary, List.of(pool), ReplicaDataSource.Selection.ROUND_ROBIN, null,
+                Duration.ofSeconds(10), Duration.ofMinutes(1), meterRegistry);
+    }
+
+    private static HikariDataSource pool(String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("test-replica");
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setConnectionTimeout(250);
+        return pool;
+    }
+}
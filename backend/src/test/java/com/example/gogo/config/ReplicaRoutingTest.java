@@ -0,0 +1,74 @@
+package com.example.gogo.config;
+
+import com.example.gogo.repository.ItemRepository;
+import com.example.gogo.service.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("replicas")
+class ReplicaRoutingTest {
+
+    @MockitoSpyBean
+    private ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    // Scheduled jobs use the data source too, so calls are attributed to the thread that made them
+    private final List<Thread> replicaCallers = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void recordReplicaConnections() throws Exception {
+        doAnswer(invocation -> {
+            replicaCallers.add(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(replicaDataSource).getConnection();
+    }
+
+    @Test
+    void readOnlyTransactionUsesTheReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long count = readOnly.execute(status -> itemRepository.count());
+
+        assertThat(count).isPositive();
+        assertThat(replicaCallers).contains(Thread.currentThread());
+    }
+
+    @Test
+    void readOnlyServiceMethodUsesTheReplica() {
+        itemService.getWatermark();
+
+        assertThat(replicaCallers).contains(Thread.currentThread());
+    }
+
+    @Test
+    void readWriteTransactionUsesThePrimary() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        long count = readWrite.execute(status -> itemRepository.count());
+
+        assertThat(count).isPositive();
+        assertThat(replicaCallers).doesNotContain(Thread.currentThread());
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.gogo.controller;
+
+import com.example.gogo.repository.ItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"rate-limit.enabled=false", "items.bulk.max-records=5"})
+@AutoConfigureMockMvc
+@WithMockUser(username = "test")
+class ItemControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private ItemRepository itemRepository;
+
+    @Test
+    void cursorPagesFollowOnWithoutOverlap() throws Exception {
+        JsonNode first = getJson("/api/items?cursor=&size=5");
+        assertThat(first.get("content")).hasSize(5);
+        assertThat(first.get("hasNext").asBoolean()).isTrue();
+        String nextCursor = first.get("nextCursor").asText();
+
+        JsonNode second = getJson("/api/items?cursor=" + nextCursor + "&size=5");
+        assertThat(second.get("content")).hasSize(5);
+
+        Set<Long> ids = new HashSet<>();
+        first.get("content").forEach(item -> ids.add(item.get("id").asLong()));
+        second.get("content").forEach(item -> assertThat(ids.add(item.get("id").asLong())).isTrue());
+    }
+
+    @Test
+    void invalidCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/items").param("cursor", "not-a-cursor").param("size", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void pageSizeOutsideBoundsIsRejected() throws Exception {
+        for (String size : new String[]{"0", "-1", "101", String.valueOf(Integer.MAX_VALUE)}) {
+            mockMvc.perform(get("/api/items").param("cursor", "").param("size", size))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Validation Failed"))
+                    .andExpect(jsonPath("$.details.size").exists());
+            mockMvc.perform(get("/api/items").param("size", size))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.details.size").exists());
+        }
+        mockMvc.perform(get("/api/items").param("size", "100"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void invertedFilterRangeIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/items").param("minMileage", "2000").param("maxMileage", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("minMileage must not be greater than maxMileage"));
+    }
+
+    @Test
+    void telemetryOfAMissingItemIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/items/{id}/telemetry", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Item not found or has no VIN"));
+    }
+
+    @Test
+    void invalidTelemetryRangeAndExportFormatAreBadRequests() throws Exception {
+        long id = createItem("ETG000000000007").get("id").asLong();
+        mockMvc.perform(get("/api/items/{id}/telemetry", id)
+                        .param("from", "2026-01-02T00:00:00Z").param("to", "2026-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("'from' must be before 'to'"));
+        mockMvc.perform(get("/api/items/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported export format: xml"));
+    }
+
+    @Test
+    void unchangedListIsNotModifiedUntilAnItemChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/items").param("size", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        mockMvc.perform(get("/api/items").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        createItem("ETG000000000001");
+
+        String changed = mockMvc.perform(get("/api/items").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void listTagChangesWhenAnItemIsUpdated() throws Exception {
+        long id = createItem("ETG000000000006").get("id").asLong();
+        String etag = mockMvc.perform(get("/api/items").param("size", "5"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/items/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON).content(itemJson("ETG000000000006", "WARNING")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/items").param("size", "5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unchangedItemIsNotModified() throws Exception {
+        JsonNode item = createItem("ETG000000000002");
+
+        mockMvc.perform(get("/api/items/{id}", item.get("id").asLong())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + item.get("version").asLong() + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void itemTagDescribesTheBodySentAfterAWriteElsewhere() throws Exception {
+        JsonNode item = createItem("ETG000000000005");
+        long id = item.get("id").asLong();
+        long next = item.get("version").asLong() + 1;
+        mockMvc.perform(get("/api/items/{id}", id)).andExpect(status().isOk());
+
+        // Another node writes the row; this node's cached copy is now behind
+        jdbcTemplate.update("UPDATE items SET title = 'Changed elsewhere', version = version + 1 WHERE id = ?", id);
+
+        mockMvc.perform(get("/api/items/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + next + "\""))
+                .andExpect(jsonPath("$.title").value("Changed elsewhere"))
+                .andExpect(jsonPath("$.version").value(next));
+    }
+
+    @Test
+    void staleIfMatchIsPreconditionFailed() throws Exception {
+        JsonNode item = createItem("ETG000000000003");
+        long id = item.get("id").asLong();
+        String original = "\"" + item.get("version").asLong() + "\"";
+
+        mockMvc.perform(put("/api/items/{id}", id).header(HttpHeaders.IF_MATCH, original)
+                        .contentType(MediaType.APPLICATION_JSON).content(itemJson("ETG000000000003", "WARNING")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (item.get("version").asLong() + 1) + "\""));
+
+        mockMvc.perform(put("/api/items/{id}", id).header(HttpHeaders.IF_MATCH, original)
+                        .contentType(MediaType.APPLICATION_JSON).content(itemJson("ETG000000000003", "CRITICAL")))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateLosingARaceIsConflict() throws Exception {
+        long id = createItem("ETG000000000004").get("id").asLong();
+        // Another transaction moved the version between the read and the guarded write
+        doReturn(0).when(itemRepository).updateOwned(any(), anyLong(), anyLong());
+
+        mockMvc.perform(put("/api/items/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON).content(itemJson("ETG000000000004", "WARNING")))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void bulkStoresValidRecordsAndReportsTheRest() throws Exception {
+        String body = "[" + itemJson("BLK000000000001", "NORMAL") + ",{\"title\":\"\"},"
+                + itemJson("BLK000000000002", "NORMAL") + "," + itemJson("BLK000000000002", "WARNING") + "]";
+
+        JsonNode result = postBulk(MediaType.APPLICATION_JSON, body);
+
+        assertThat(result.get("received").asInt()).isEqualTo(4);
+        assertThat(result.get("created").asInt()).isEqualTo(2);
+        assertThat(result.get("failures")).hasSize(2);
+        assertThat(result.at("/failures/0/index").asInt()).isEqualTo(1);
+        assertThat(result.at("/failures/0/message").asText()).startsWith("title ");
+        assertThat(result.at("/failures/1/index").asInt()).isEqualTo(3);
+        assertThat(result.at("/failures/1/message").asText()).isEqualTo("vin already exists");
+    }
+
+    @Test
+    void bulkArrayReportsUnmappableRecordsOneByOne() throws Exception {
+        String body = "[" + itemJson("BLK000000000005", "NORMAL") + ",{\"title\":\"Bad year\",\"modelYear\":\"soon\"},"
+                + itemJson("BLK000000000006", "NORMAL") + "]";
+
+        JsonNode result = postBulk(MediaType.APPLICATION_JSON, body);
+
+        assertThat(result.get("received").asInt()).isEqualTo(3);
+        assertThat(result.get("created").asInt()).isEqualTo(2);
+        assertThat(result.at("/failures/0/index").asInt()).isEqualTo(1);
+        assertThat(result.at("/failures/0/message").asText()).isEqualTo("Malformed record");
+    }
+
+    @Test
+    void bulkStopsReadingAtTheRecordLimit() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            body.append(itemJson("BLK00000000010" + i, "NORMAL")).append('\n');
+        }
+
+        JsonNode result = postBulk(MediaType.APPLICATION_NDJSON, body.toString());
+
+        assertThat(result.get("created").asInt()).isEqualTo(5);
+        assertThat(result.get("failures")).hasSize(1);
+        assertThat(result.at("/failures/0/index").asInt()).isEqualTo(5);
+        assertThat(result.at("/failures/0/message").asText()).isEqualTo("More than 5 records; input ends here");
+    }
+
+    @Test
+    void bulkStreamSkipsUnmappableLinesAndStopsAtBrokenInput() throws Exception {
+        String body = String.join("\n",
+                itemJson("BLK000000000003", "NORMAL"),
+                "{\"title\":\"Bad year\",\"modelYear\":\"soon\"}",
+                itemJson("BLK000000000004", "NORMAL"),
+                "{\"title\":\"Cut off");
+
+        JsonNode result = postBulk(MediaType.APPLICATION_NDJSON, body);
+
+        assertThat(result.get("created").asInt()).isEqualTo(2);
+        assertThat(result.at("/failures/0/index").asInt()).isEqualTo(1);
+        assertThat(result.at("/failures/0/message").asText()).isEqualTo("Malformed record");
+        JsonNode last = result.get("failures").get(result.get("failures").size() - 1);
+        assertThat(last.get("index").asInt()).isGreaterThanOrEqualTo(3);
+        assertThat(last.get("message").asText()).startsWith("Malformed record");
+    }
+
+    private JsonNode postBulk(MediaType contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/api/items/bulk").contentType(contentType).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private JsonNode createItem(String vin) throws Exception {
+        String body = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON).content(itemJson(vin, "NORMAL")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static String itemJson(String vin, String status) {
+        return "{\"title\":\"ETag Engine - VIN: " + vin + "\",\"vin\":\"" + vin + "\"," +
+                "\"vehicleModel\":\"Kona\",\"modelYear\":2024,\"status\":\"" + status + "\"}";
+    }
+
+    private JsonNode getJson(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.gogo.events;
+
+import com.example.gogo.dto.ItemEventResponse;
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemStreamSubscriptionTest {
+
+    // Drains run only when the test says so
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final RecordingEmitter emitter = new RecordingEmitter();
+    private final AtomicInteger drops = new AtomicInteger();
+
+    @Test
+    void repeatedChangesToAnItemCollapseIntoTheLatest() {
+        ItemStreamSubscription subscription = subscription(Set.of(), null, 10);
+
+        subscription.offer(ItemChangedEvent.updated(item(1L, "first", DiagnosticStatus.NORMAL), DiagnosticStatus.NORMAL, "Kona"));
+        subscription.offer(ItemChangedEvent.created(item(2L, "other", DiagnosticStatus.NORMAL)));
+        subscription.offer(ItemChangedEvent.updated(item(1L, "second", DiagnosticStatus.NORMAL), DiagnosticStatus.NORMAL, "Kona"));
+        runTasks();
+
+        assertThat(emitter.names).containsExactly("created", "updated");
+        assertThat(emitter.items).extracting(ItemEventResponse::getItemId).containsExactly(2L, 1L);
+        assertThat(emitter.items.get(1).getItem().getTitle()).isEqualTo("second");
+    }
+
+    @Test
+    void onlyOneDrainIsScheduledAtATime() {
+        ItemStreamSubscription subscription = subscription(Set.of(), null, 10);
+
+        subscription.offer(ItemChangedEvent.created(item(1L, "a", DiagnosticStatus.NORMAL)));
+        subscription.offer(ItemChangedEvent.created(item(2L, "b", DiagnosticStatus.NORMAL)));
+        subscription.heartbeat();
+
+        assertThat(tasks).hasSize(1);
+        runTasks();
+        assertThat(emitter.names).containsExactly("created", "created");
+    }
+
+    @Test
+    void overflowDropsTheOldestAndAsksForAResync() {
+        ItemStreamSubscription subscription = subscription(Set.of(), null, 2);
+
+        for (long id = 1; id <= 3; id++) {
+            subscription.offer(ItemChangedEvent.created(item(id, "item " + id, DiagnosticStatus.NORMAL)));
+        }
+        runTasks();
+
+        assertThat(drops.get()).isEqualTo(1);
+        assertThat(emitter.names).containsExactly("resync", "created", "created");
+        assertThat(emitter.items).extracting(ItemEventResponse::getItemId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void rejectedDrainIsCountedAndRetriedWithTheNextOffer() {
+        AtomicInteger rejections = new AtomicInteger(1);
+        ItemStreamSubscription subscription = new ItemStreamSubscription(emitter, Set.of(), null, 10, task -> {
+            if (rejections.getAndDecrement() > 0) {
+                throw new TaskRejectedException("Send pool is full");
+            }
+            tasks.add(task);
+        }, new AtomicLong(), drops::incrementAndGet);
+
+        subscription.offer(ItemChangedEvent.created(item(1L, "a", DiagnosticStatus.NORMAL)));
+        assertThat(drops.get()).isEqualTo(1);
+        assertThat(tasks).isEmpty();
+
+        subscription.offer(ItemChangedEvent.created(item(2L, "b", DiagnosticStatus.NORMAL)));
+        runTasks();
+        assertThat(emitter.items).extracting(ItemEventResponse::getItemId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void filtersByStatusAndModel() {
+        ItemStreamSubscription subscription = subscription(EnumSet.of(DiagnosticStatus.CRITICAL), "Kona", 10);
+
+        assertThat(subscription.matches(ItemChangedEvent.created(item(1L, "a", DiagnosticStatus.CRITICAL)))).isTrue();
+        assertThat(subscription.matches(ItemChangedEvent.created(item(2L, "b", DiagnosticStatus.NORMAL)))).isFalse();
+        assertThat(subscription.matches(ItemChangedEvent.deleted(3L, DiagnosticStatus.CRITICAL, "Sonata"))).isFalse();
+        assertThat(subscription.matches(ItemChangedEvent.deleted(4L, DiagnosticStatus.CRITICAL, "Kona"))).isTrue();
+    }
+
+    @Test
+    void updateThatLeavesTheFilterIsStillDelivered() {
+        ItemStreamSubscription subscription = subscription(EnumSet.of(DiagnosticStatus.CRITICAL), null, 10);
+
+        // Was CRITICAL, now NORMAL: the subscriber has to learn the item is gone from its view
+        ItemChangedEvent leaving = ItemChangedEvent.updated(item(1L, "a", DiagnosticStatus.NORMAL), DiagnosticStatus.CRITICAL, "Kona");
+        ItemChangedEvent unrelated = ItemChangedEvent.updated(item(2L, "b", DiagnosticStatus.NORMAL), DiagnosticStatus.WARNING, "Kona");
+
+        assertThat(subscription.matches(leaving)).isTrue();
+        assertThat(subscription.matches(unrelated)).isFalse();
+    }
+
+    @Test
+    void failedSendClosesTheSubscription() {
+        emitter.failing = true;
+        ItemStreamSubscription subscription = subscription(Set.of(), null, 10);
+
+        subscription.offer(ItemChangedEvent.created(item(1L, "a", DiagnosticStatus.NORMAL)));
+        runTasks();
+        subscription.offer(ItemChangedEvent.created(item(2L, "b", DiagnosticStatus.NORMAL)));
+
+        assertThat(subscription.isClosed()).isTrue();
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void blockedSendIsReportedAsStalled() throws Exception {
+        emitter.blocking = new CountDownLatch(1);
+        ItemStreamSubscription subscription = subscription(Set.of(), null, 10);
+        subscription.offer(ItemChangedEvent.created(item(1L, "a", DiagnosticStatus.NORMAL)));
+        Thread sender = new Thread(tasks.remove(0));
+        sender.start();
+        assertThat(emitter.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long timeout = TimeUnit.SECONDS.toNanos(10);
+        assertThat(subscription.isSendStalled(System.nanoTime(), timeout)).isFalse();
+        assertThat(subscription.isSendStalled(System.nanoTime() + 2 * timeout, timeout)).isTrue();
+
+        emitter.blocking.countDown();
+        sender.join(5000);
+        assertThat(subscription.isSendStalled(System.nanoTime() + 2 * timeout, timeout)).isFalse();
+    }
+
+    private ItemStreamSubscription subscription(Set<DiagnosticStatus> statuses, String model, int capacity) {
+        return new ItemStreamSubscription(emitter, statuses, model, capacity, tasks::add, new AtomicLong(),
+                drops::incrementAndGet);
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    private static ItemResponse item(Long id, String title, DiagnosticStatus status) {
+        return ItemResponse.builder().id(id).title(title).status(status).vehicleModel("Kona").build();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<ItemEventResponse> items = new ArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile boolean failing;
+        private volatile CountDownLatch blocking;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (blocking != null) {
+                entered.countDown();
+                try {
+                    blocking.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof ItemEventResponse item) {
+                    items.add(item);
+                } else if (part.getData() instanceof String text && text.contains("event:")) {
+                    // The text before the data carries the "id:" and "event:" lines
+                    int start = text.indexOf("event:") + "event:".length();
+                    names.add(text.substring(start, text.indexOf('\n', start)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.gogo.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 2_000_000;
+    private static final long SLOW = 100_000_000;
+
+    // Every recorded release closes a window, so each call below is one AIMD step
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new SimpleMeterRegistry(), true, 10, 5, 20, 2.0, Duration.ZERO, 1);
+
+    @Test
+    void rejectsOnceLimitIsReachedAndAdmitsAfterRelease() {
+        acquire(10);
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsByOneWhileHalfTheLimitIsInUse() {
+        acquire(5);
+        limiter.release(FAST, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void holdsWhenLightlyUsed() {
+        acquire(1);
+        limiter.release(FAST, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffWhenLimitIsReachedAndLatencyExceedsTolerance() {
+        establishBaseline(FAST);
+
+        acquire(limiter.getLimit());
+        limiter.release(SLOW, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void slowRequestsBelowTheLimitDoNotShrinkIt() {
+        establishBaseline(FAST);
+
+        for (int i = 0; i < 50; i++) {
+            acquire(2);
+            limiter.release(SLOW, true);
+            limiter.release(SLOW, true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void neverShrinksBelowMinimumOrGrowsBeyondMaximum() {
+        establishBaseline(FAST);
+        for (int i = 0; i < 30; i++) {
+            acquire(limiter.getLimit());
+            limiter.release(SLOW * 10, true);
+            releaseAll();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        for (int i = 0; i < 30; i++) {
+            acquire(limiter.getLimit());
+            limiter.release(FAST, true);
+            releaseAll();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void baselineMovesSlowlyTowardsNewLatency() {
+        establishBaseline(FAST);
+
+        acquire(1);
+        limiter.release(SLOW, true);
+
+        assertThat(limiter.getBaselineNanos()).isBetween((double) FAST, FAST + (SLOW - FAST) * 0.1);
+    }
+
+    @Test
+    void unrecordedReleasesDoNotMoveTheBaseline() {
+        establishBaseline(FAST);
+        double baseline = limiter.getBaselineNanos();
+
+        acquire(limiter.getLimit());
+        limiter.release(SLOW, false);
+
+        assertThat(limiter.getBaselineNanos()).isEqualTo(baseline);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    private void establishBaseline(long latency) {
+        acquire(1);
+        limiter.release(latency, true);
+    }
+
+    private void acquire(int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+
+    private void releaseAll() {
+        while (limiter.getInFlight() > 0) {
+            limiter.release(0, false);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.gogo.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Buckets live as long as the context, so every test uses its own client addresses and users
+@SpringBootTest(properties = {
+        "rate-limit.login.limit=2",
+        "rate-limit.refresh.limit=2",
+        "rate-limit.default.limit=2",
+        "rate-limit.default.period=PT1M"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @BeforeEach
+    void admitByDefault() {
+        when(concurrencyLimiter.tryAcquire()).thenReturn(true);
+    }
+
+    @Test
+    void loginOverLimitIsRejectedWithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(login("10.0.0.1")).andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(login("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.message").value("Rate limit exceeded"));
+    }
+
+    @Test
+    void loginIsKeyedByClientAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(login("10.0.0.2"));
+        }
+
+        mockMvc.perform(login("10.0.0.2")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(login("10.0.0.3")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshWithUnknownTokensIsLimitedByClientAddress() throws Exception {
+        // Each guess is a different token, so no refresh-token family ever gets a bucket
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(refresh("10.0.0.4", "guess-" + i)).andExpect(status().isBadRequest());
+        }
+
+        mockMvc.perform(refresh("10.0.0.4", "guess-2")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(refresh("10.0.0.5", "guess-3")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void authenticatedRequestsAreKeyedByUserNotAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(item("10.0.1.1").with(user("alice"))).andExpect(status().isNotFound());
+        }
+
+        mockMvc.perform(item("10.0.1.1").with(user("alice"))).andExpect(status().isTooManyRequests());
+        // The bucket follows the user: a new user on the same address has its own, a new address does not help
+        mockMvc.perform(item("10.0.1.1").with(user("bob"))).andExpect(status().isNotFound());
+        mockMvc.perform(item("10.0.1.2").with(user("alice"))).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void overloadIsServiceUnavailable() throws Exception {
+        when(concurrencyLimiter.tryAcquire()).thenReturn(false);
+
+        mockMvc.perform(item("10.0.2.1").with(user("carol")))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.message").value("Server is overloaded"));
+        verify(concurrencyLimiter, never()).release(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void rateLimitedRequestsNeverTakeAConcurrencySlot() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(item("10.0.3.1").with(user("dave")));
+        }
+        when(concurrencyLimiter.tryAcquire()).thenReturn(false);
+
+        mockMvc.perform(item("10.0.3.1").with(user("dave"))).andExpect(status().isTooManyRequests());
+    }
+
+    private static MockHttpServletRequestBuilder login(String address) {
+        return post("/api/auth/login")
+                .with(remoteAddr(address))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\":\"nobody\",\"password\":\"wrong\"}");
+    }
+
+    private static MockHttpServletRequestBuilder refresh(String address, String refreshToken) {
+        return post("/api/auth/refresh")
+                .with(remoteAddr(address))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}");
+    }
+
+    private static MockHttpServletRequestBuilder item(String address) {
+        return get("/api/items/{id}", Long.MAX_VALUE).with(remoteAddr(address));
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
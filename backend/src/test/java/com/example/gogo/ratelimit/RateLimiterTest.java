@@ -0,0 +1,114 @@
+package com.example.gogo.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final long start = System.nanoTime();
+
+    // Three requests at once, then one per second
+    private RateLimiter limiter(boolean enabled, int maxKeys) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("rate-limit.default.limit", "3")
+                .withProperty("rate-limit.default.period", "PT3S");
+        return new RateLimiter(environment, meterRegistry, enabled, maxKeys);
+    }
+
+    @Test
+    void allowsBurstThenReportsWaitUntilNextToken() {
+        RateLimiter limiter = limiter(true, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a", start)).isZero();
+        }
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a", start)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a", start + SECOND / 4)).isEqualTo(SECOND * 3 / 4);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        RateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(RouteGroup.DEFAULT, "a", start);
+        }
+
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a", start + SECOND)).isZero();
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a", start + SECOND)).isPositive();
+
+        // A long idle period refills the bucket to the burst size, not beyond it
+        long later = start + 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a", later)).isZero();
+        }
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a", later)).isPositive();
+    }
+
+    @Test
+    void keysAndGroupsHaveSeparateBuckets() {
+        RateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(RouteGroup.DEFAULT, "a", start);
+        }
+
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a", start)).isPositive();
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "b", start)).isZero();
+        assertThat(limiter.tryAcquire(RouteGroup.SEARCH, "a", start)).isZero();
+    }
+
+    @Test
+    void countsRejectionsPerGroup() {
+        RateLimiter limiter = limiter(true, 100);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(RouteGroup.DEFAULT, "a", start);
+        }
+
+        assertThat(meterRegistry.get("http.server.requests.rejected")
+                .tag("group", "default").tag("reason", "rate_limit").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void newKeysShareTheOverflowBucketOnceTheGroupIsFull() {
+        RateLimiter limiter = limiter(true, 2);
+        // The overflow bucket starts at construction time
+        long now = System.nanoTime();
+        limiter.tryAcquire(RouteGroup.DEFAULT, "a", now);
+        limiter.tryAcquire(RouteGroup.DEFAULT, "b", now);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "client-" + i, now)).isZero();
+        }
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "client-3", now)).isPositive();
+        assertThat(limiter.size(RouteGroup.DEFAULT)).isEqualTo(2);
+    }
+
+    @Test
+    void fullGroupSweepsRefilledBucketsBeforeFallingBackToOverflow() {
+        RateLimiter limiter = limiter(true, 2);
+        limiter.tryAcquire(RouteGroup.DEFAULT, "a", start);
+        limiter.tryAcquire(RouteGroup.DEFAULT, "b", start);
+
+        // Both buckets have refilled after one interval, so the sweep frees their slots
+        long later = start + 2 * RateLimiter.OVERFLOW_SWEEP_NANOS;
+        assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "c", later)).isZero();
+        assertThat(limiter.size(RouteGroup.DEFAULT)).isEqualTo(1);
+    }
+
+    @Test
+    void disabledLimiterAdmitsEverything() {
+        RateLimiter limiter = limiter(false, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(RouteGroup.DEFAULT, "a")).isZero();
+        }
+        assertThat(limiter.size(RouteGroup.DEFAULT)).isZero();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.gogo.search;
+
+import com.example.gogo.dto.ItemFilter;
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.Item;
+import com.example.gogo.exception.BadRequestException;
+import com.example.gogo.repository.ItemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InvertedIndexItemSearchBackendTest {
+
+    private static final Sort NEWEST_FIRST = Sort.by("createdAt").descending();
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final InvertedIndexItemSearchBackend backend = new InvertedIndexItemSearchBackend(itemRepository);
+
+    @BeforeEach
+    void loadResponsesById() {
+        when(itemRepository.findResponsesByIdIn(anyList())).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).stream()
+                .map(id -> ItemResponse.builder().id(id).build())
+                .toList());
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tokenizesCaseInsensitivelyOnNonAlphanumerics() {
+        backend.index(item(1L, "Diesel Engine - VIN: KMH-0042", "Kim Min-su"));
+
+        assertThat(ids("diesel")).containsExactly(1L);
+        assertThat(ids("ENGINE vin")).containsExactly(1L);
+        assertThat(ids("kmh 0042")).containsExactly(1L);
+        assertThat(ids("min-su")).containsExactly(1L);
+        assertThat(ids("engine petrol")).isEmpty();
+        assertThat(ids(" - ")).isEmpty();
+    }
+
+    @Test
+    void prefixesNeedThreeCharactersAndRankBelowExactTokens() {
+        backend.index(item(1L, "Hybrid check", null));
+        backend.index(item(2L, "Hybridization study", null));
+
+        assertThat(ids("hyb")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids("hybrid")).containsExactly(1L, 2L);
+        assertThat(ids("hy")).isEmpty();
+        assertThat(ids("check")).containsExactly(1L);
+    }
+
+    @Test
+    void tooBroadPrefixIsRejected() {
+        for (long id = 1; id <= 150; id++) {
+            backend.index(item(id, "Vehicle " + String.format("KMHXX%012d", id), null));
+        }
+
+        assertThatThrownBy(() -> ids("kmhxx"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("more than 100 words");
+        assertThat(ids("kmhxx000000000150")).containsExactly(150L);
+        assertThat(ids("kmhxx00000000014")).containsExactlyInAnyOrder(140L, 141L, 142L, 143L, 144L, 145L, 146L, 147L, 148L, 149L);
+    }
+
+    @Test
+    void changesApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        backend.index(item(1L, "Turbo failure", null));
+        assertThat(ids("turbo")).isEmpty();
+        commit();
+        assertThat(ids("turbo")).containsExactly(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        backend.index(item(1L, "Injector failure", null));
+        assertThat(ids("turbo")).containsExactly(1L);
+        commit();
+        assertThat(ids("turbo")).isEmpty();
+        assertThat(ids("injector")).containsExactly(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        backend.remove(1L);
+        commit();
+        assertThat(ids("injector")).isEmpty();
+        assertThat(ids("failure")).isEmpty();
+    }
+
+    @Test
+    void rebuildReplaysChangesCommittedWhileReading() {
+        backend.index(item(9L, "Stale entry", null));
+        when(itemRepository.findFirstIndexPage(any())).thenAnswer(invocation -> {
+            backend.remove(1L);
+            backend.index(item(3L, "Added during rebuild", null));
+            return List.of(item(1L, "Removed during rebuild", null), item(2L, "Kept brake pads", null));
+        });
+
+        backend.rebuild();
+
+        assertThat(ids("stale")).isEmpty();
+        assertThat(ids("removed")).isEmpty();
+        assertThat(ids("brake")).containsExactly(2L);
+        assertThat(ids("added")).containsExactly(3L);
+    }
+
+    @Test
+    void createdAtPagesAreReadInIndexOrder() {
+        backend.index(item(5L, "Coolant leak", null));
+        backend.index(item(2L, "Coolant sensor", null));
+        backend.index(item(9L, "Coolant pump", null));
+        // An update keeps the item's place
+        backend.index(item(5L, "Coolant hose leak", null));
+
+        Page<ItemResponse> first = backend.search("coolant", null, PageRequest.of(0, 2, NEWEST_FIRST));
+        Page<ItemResponse> second = backend.search("coolant", null, PageRequest.of(1, 2, NEWEST_FIRST));
+
+        assertThat(first.getContent()).extracting(ItemResponse::getId).containsExactly(9L, 2L);
+        assertThat(second.getContent()).extracting(ItemResponse::getId).containsExactly(5L);
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(backend.search("coolant", null, PageRequest.of(0, 10, Sort.by("createdAt").ascending())).getContent())
+                .extracting(ItemResponse::getId).containsExactly(5L, 2L, 9L);
+        verify(itemRepository, never()).findResponses(any(), any());
+    }
+
+    @Test
+    void filterIsCheckedAgainstTheIndexedColumns() {
+        backend.index(item(1L, DiagnosticStatus.CRITICAL, 80_000));
+        backend.index(item(2L, DiagnosticStatus.NORMAL, 90_000));
+        backend.index(item(3L, DiagnosticStatus.CRITICAL, 20_000));
+        backend.index(item(4L, DiagnosticStatus.CRITICAL, null));
+        ItemFilter filter = new ItemFilter();
+        filter.setStatus(List.of(DiagnosticStatus.CRITICAL, DiagnosticStatus.WARNING));
+        filter.setMinMileage(50_000);
+
+        Page<ItemResponse> page = backend.search("brake check", filter, PageRequest.of(0, 10, NEWEST_FIRST));
+
+        assertThat(page.getContent()).extracting(ItemResponse::getId).containsExactly(1L);
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        verify(itemRepository, never()).findResponses(any(), any());
+    }
+
+    @Test
+    void otherSortsAreNotSupported() {
+        backend.index(item(1L, "Coolant leak", null));
+
+        assertThatThrownBy(() -> backend.search("coolant", null, PageRequest.of(0, 10, Sort.by("mileage"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Long> ids(String query) {
+        return backend.search(query, null, PageRequest.of(0, 1000)).getContent().stream()
+                .map(ItemResponse::getId)
+                .toList();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static Item item(Long id, String title, String technician) {
+        return Item.builder().id(id).title(title).technician(technician).build();
+    }
+
+    private static Item item(Long id, DiagnosticStatus status, Integer mileage) {
+        return Item.builder().id(id).title("Brake check").status(status).mileage(mileage).build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.gogo.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntHashMapTest {
+
+    @Test
+    void agreesWithHashMapThroughGrowthAndRemovals() {
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            // A narrow key range keeps probe runs long, so removals have entries to shift back
+            long key = 1 + random.nextLong(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key, -1)).isEqualTo(expected.containsKey(key) ? expected.remove(key) : -1);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertThat(map.get(key, -1)).isEqualTo(expected.getOrDefault(key, -1));
+        }
+    }
+
+    @Test
+    void keyZeroIsReserved() {
+        assertThatThrownBy(() -> new LongIntHashMap().put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
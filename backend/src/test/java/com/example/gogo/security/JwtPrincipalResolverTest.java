@@ -0,0 +1,54 @@
+package com.example.gogo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class JwtPrincipalResolverTest {
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+
+    @Test
+    void withoutVerificationThePrincipalComesFromTheClaims() {
+        JwtPrincipalResolver resolver = new JwtPrincipalResolver(userDetailsService, false, 30000, 10);
+
+        assertThat(resolver.resolve("test").getUsername()).isEqualTo("test");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void verifiedLookupsAreCachedWithoutThePasswordHash() {
+        when(userDetailsService.loadUserByUsername("test")).thenReturn(new User("test", "hash", List.of()));
+        JwtPrincipalResolver resolver = new JwtPrincipalResolver(userDetailsService, true, 30000, 10);
+
+        resolver.resolve("test");
+        assertThat(resolver.resolve("test").getPassword()).isEmpty();
+        verify(userDetailsService, times(1)).loadUserByUsername("test");
+    }
+
+    @Test
+    void expiredEntriesAreLoadedAgainAndMissingUsersAreNotCached() {
+        when(userDetailsService.loadUserByUsername("test")).thenReturn(new User("test", "hash", List.of()));
+        when(userDetailsService.loadUserByUsername("gone")).thenThrow(new UsernameNotFoundException("gone"));
+        JwtPrincipalResolver resolver = new JwtPrincipalResolver(userDetailsService, true, 0, 10);
+
+        resolver.resolve("test");
+        resolver.resolve("test");
+        verify(userDetailsService, times(2)).loadUserByUsername("test");
+
+        assertThatThrownBy(() -> resolver.resolve("gone")).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> resolver.resolve("gone")).isInstanceOf(UsernameNotFoundException.class);
+        verify(userDetailsService, times(2)).loadUserByUsername("gone");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.gogo.security;
+
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String OLD_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String NEW_SECRET = "7A24432646294A404E635266556A586E3272357538782F413F4428472B4B6250";
+    private static final UserDetails USER = new User("test", "", List.of());
+
+    @Test
+    void tokensFromThePreviousSecretVerifyDuringTheOverlap() {
+        String oldToken = new JwtUtil(OLD_SECRET, "", 900000L, 604800000L).generateAccessToken(USER);
+        JwtUtil rotated = new JwtUtil(NEW_SECRET, OLD_SECRET, 900000L, 604800000L);
+
+        assertThat(rotated.extractUsername(oldToken)).isEqualTo("test");
+        assertThat(rotated.extractUsername(rotated.generateAccessToken(USER))).isEqualTo("test");
+    }
+
+    @Test
+    void tokensFromAnUnknownOrRetiredSecretAreRejected() {
+        String oldToken = new JwtUtil(OLD_SECRET, "", 900000L, 604800000L).generateAccessToken(USER);
+
+        assertThatThrownBy(() -> new JwtUtil(NEW_SECRET, "", 900000L, 604800000L).extractUsername(oldToken))
+                .isInstanceOf(SignatureException.class);
+        // With a zero access-token lifetime the overlap is already over at startup
+        assertThatThrownBy(() -> new JwtUtil(NEW_SECRET, OLD_SECRET, 0L, 604800000L).extractUsername(oldToken))
+                .isInstanceOf(SignatureException.class);
+    }
+}
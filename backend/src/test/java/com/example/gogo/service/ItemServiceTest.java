@@ -0,0 +1,157 @@
+package com.example.gogo.service;
+
+import com.example.gogo.dto.ItemFilter;
+import com.example.gogo.dto.ItemRequest;
+import com.example.gogo.dto.ItemResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.exception.BadRequestException;
+import com.example.gogo.exception.ForbiddenException;
+import com.example.gogo.exception.ItemNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemServiceTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getItemsRunsOnePageQueryAndOneCountQuery() {
+        Page<ItemResponse> page = itemService.getItems("admin", null, new ItemFilter(),
+                PageRequest.of(1, 10, Sort.by("createdAt").descending()));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getItemByIdRunsSingleQueryWithoutLoadingEntities() {
+        Long id = itemService.getItems("admin", null, new ItemFilter(), PageRequest.of(0, 1)).getContent().get(0).getId();
+        statistics.clear();
+
+        ItemResponse item = itemService.getItemById("admin", id);
+
+        assertThat(item.getId()).isEqualTo(id);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void getItemsByCursorSkipsCountQuery() {
+        itemService.getItemsByCursor("admin", "", 10);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateAndDeleteRunOneReadAndOneWriteEach() {
+        ItemResponse created = itemService.createItem("test", request("Before", DiagnosticStatus.NORMAL));
+        statistics.clear();
+
+        ItemResponse updated = itemService.updateItem("test", created.getId(), request("After", DiagnosticStatus.WARNING), created.getVersion());
+
+        assertThat(updated.getTitle()).isEqualTo("After");
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+        assertThat(updated.getCreatedAt()).isEqualTo(created.getCreatedAt());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(itemService.getItemVersion(created.getId())).isEqualTo(updated.getVersion());
+
+        statistics.clear();
+        itemService.deleteItem("test", created.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThatThrownBy(() -> itemService.getItemVersion(created.getId())).isInstanceOf(ItemNotFoundException.class);
+    }
+
+    @Test
+    void updateByAnotherUserIsForbidden() {
+        ItemResponse created = itemService.createItem("test", request("Owned", DiagnosticStatus.NORMAL));
+
+        assertThatThrownBy(() -> itemService.updateItem("admin", created.getId(), request("Taken", DiagnosticStatus.NORMAL), null))
+                .isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> itemService.deleteItem("admin", created.getId()))
+                .isInstanceOf(ForbiddenException.class);
+        itemService.deleteItem("test", created.getId());
+    }
+
+    @Test
+    void searchWithFilterIsTheSearchResultNarrowedByTheFilter() {
+        ItemFilter critical = new ItemFilter();
+        critical.setStatus(List.of(DiagnosticStatus.CRITICAL));
+
+        List<ItemResponse> searched = itemService.getItems("admin", "Engine", new ItemFilter(), PageRequest.of(0, 1000)).getContent();
+        List<ItemResponse> filtered = itemService.getItems("admin", "Engine", critical, PageRequest.of(0, 1000)).getContent();
+
+        assertThat(filtered).isNotEmpty();
+        assertThat(filtered).extracting(ItemResponse::getId).containsExactlyInAnyOrderElementsOf(searched.stream()
+                .filter(item -> item.getStatus() == DiagnosticStatus.CRITICAL)
+                .map(ItemResponse::getId)
+                .toList());
+    }
+
+    @Test
+    void rangeFiltersAreInclusive() {
+        ItemFilter filter = new ItemFilter();
+        filter.setMinEngineTemp(90);
+        filter.setMaxEngineTemp(100);
+        filter.setMinMileage(50_000);
+
+        List<ItemResponse> items = itemService.getItems("admin", null, filter, PageRequest.of(0, 1000)).getContent();
+
+        assertThat(items).isNotEmpty().allSatisfy(item -> {
+            assertThat(item.getEngineTemp()).isBetween(90, 100);
+            assertThat(item.getMileage()).isGreaterThanOrEqualTo(50_000);
+        });
+    }
+
+    @Test
+    void invertedRangesAreRejected() {
+        ItemFilter rpm = new ItemFilter();
+        rpm.setMinRpm(3000);
+        rpm.setMaxRpm(1000);
+        ItemFilter dates = new ItemFilter();
+        dates.setStartDate(LocalDate.of(2025, 2, 1));
+        dates.setEndDate(LocalDate.of(2025, 1, 1));
+
+        assertThatThrownBy(() -> itemService.getItems("admin", null, rpm, PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("minRpm must not be greater than maxRpm");
+        assertThatThrownBy(() -> itemService.getItems("admin", "Engine", dates, PageRequest.of(0, 10)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static ItemRequest request(String title, DiagnosticStatus status) {
+        ItemRequest request = new ItemRequest();
+        request.setTitle(title);
+        request.setStatus(status);
+        return request;
+    }
+}
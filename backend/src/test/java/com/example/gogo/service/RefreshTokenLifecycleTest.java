@@ -0,0 +1,125 @@
+package com.example.gogo.service;
+
+import com.example.gogo.dto.AuthResponse;
+import com.example.gogo.dto.LoginRequest;
+import com.example.gogo.dto.RefreshTokenRequest;
+import com.example.gogo.entity.RefreshToken;
+import com.example.gogo.entity.User;
+import com.example.gogo.exception.InvalidRefreshTokenException;
+import com.example.gogo.repository.RefreshTokenRepository;
+import com.example.gogo.repository.UserRepository;
+import com.example.gogo.security.TokenHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "rate-limit.enabled=false",
+        "auth.refresh-token.purge-chunk-size=2",
+        "auth.refresh-token.revoked-retention=P1D"
+})
+class RefreshTokenLifecycleTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private RefreshTokenPurgeService purgeService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void refreshRotatesTheToken() {
+        String first = login().getRefreshToken();
+
+        String second = refresh(first).getRefreshToken();
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(refreshTokenRepository.findByTokenHash(TokenHasher.sha256(first)).orElseThrow().getRevoked()).isTrue();
+        assertThat(refresh(second).getRefreshToken()).isNotEqualTo(second);
+    }
+
+    @Test
+    void refreshAnswersWithTheUserFromTheTokenRecord() {
+        AuthResponse loggedIn = login();
+
+        AuthResponse refreshed = refresh(loggedIn.getRefreshToken());
+
+        assertThat(refreshed.getUser()).isEqualTo(loggedIn.getUser());
+        assertThat(refreshed.getUser().getEmail()).isEqualTo("test@hyundai.com");
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        String first = login().getRefreshToken();
+        String second = refresh(first).getRefreshToken();
+
+        assertThatThrownBy(() -> refresh(first)).isInstanceOf(InvalidRefreshTokenException.class);
+
+        // The revocation commits even though the request failed, so the live token is dead too
+        assertThat(refreshTokenRepository.findByTokenHash(TokenHasher.sha256(second)).orElseThrow().getRevoked()).isTrue();
+        assertThatThrownBy(() -> refresh(second)).isInstanceOf(InvalidRefreshTokenException.class);
+    }
+
+    @Test
+    void purgeDeletesExpiredAndLongRevokedTokensOnly() {
+        LocalDateTime now = LocalDateTime.now();
+        // Three expired tokens span two chunks of two
+        String expired1 = save(now.minusDays(1), null);
+        String expired2 = save(now.minusDays(1), null);
+        String expired3 = save(now.minusDays(1), null);
+        String revokedLongAgo = save(now.plusDays(5), now.minusDays(2));
+        String revokedRecently = save(now.plusDays(5), now.minusHours(1));
+        String live = save(now.plusDays(5), null);
+
+        purgeService.purge();
+
+        assertThat(exists(expired1)).isFalse();
+        assertThat(exists(expired2)).isFalse();
+        assertThat(exists(expired3)).isFalse();
+        assertThat(exists(revokedLongAgo)).isFalse();
+        assertThat(exists(revokedRecently)).isTrue();
+        assertThat(exists(live)).isTrue();
+    }
+
+    private AuthResponse login() {
+        LoginRequest request = new LoginRequest();
+        request.setUserId("test");
+        request.setPassword("123456");
+        return authService.login(request);
+    }
+
+    private AuthResponse refresh(String token) {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(token);
+        return authService.refreshToken(request);
+    }
+
+    private String save(LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        User user = userRepository.findByUsername("test").orElseThrow();
+        String hash = TokenHasher.sha256(UUID.randomUUID().toString());
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash)
+                .familyId(UUID.randomUUID().toString())
+                .user(user)
+                .expiresAt(expiresAt)
+                .revoked(revokedAt != null)
+                .revokedAt(revokedAt)
+                .build());
+        return hash;
+    }
+
+    private boolean exists(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash).isPresent();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.gogo.stats;
+
+import com.example.gogo.dto.ItemStatsResponse;
+import com.example.gogo.entity.DiagnosticStatus;
+import com.example.gogo.entity.EngineType;
+import com.example.gogo.entity.Item;
+import com.example.gogo.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemStatisticsTest {
+
+    private static final MetricAggregate EMPTY = new MetricAggregate(0L, null, null, null);
+
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemStatistics statistics = new ItemStatistics(itemRepository, mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void startEmpty() {
+        when(itemRepository.count()).thenReturn(0L);
+        when(itemRepository.countByStatus()).thenReturn(List.of());
+        when(itemRepository.countByEngineType()).thenReturn(List.of());
+        when(itemRepository.countByVehicleModel()).thenReturn(List.of());
+        when(itemRepository.aggregateRpm()).thenReturn(EMPTY);
+        when(itemRepository.aggregateEngineTemp()).thenReturn(EMPTY);
+        when(itemRepository.aggregateMileage()).thenReturn(EMPTY);
+        statistics.rebuild();
+    }
+
+    @Test
+    void createUpdateAndDeleteAdjustEveryRollup() {
+        Item first = item(DiagnosticStatus.NORMAL, "Kona", EngineType.THETA, 1000, 80, 5000);
+        Item second = item(DiagnosticStatus.CRITICAL, "Kona", EngineType.GAMMA, 3000, 120, 15000);
+        statistics.recordCreated(first);
+        statistics.recordCreated(second);
+
+        ItemStatsResponse created = statistics.snapshot();
+        assertThat(created.getTotal()).isEqualTo(2);
+        assertThat(created.getByStatus()).containsEntry(DiagnosticStatus.NORMAL, 1L).containsEntry(DiagnosticStatus.CRITICAL, 1L);
+        assertThat(created.getByEngineType()).containsEntry(EngineType.THETA, 1L).containsEntry(EngineType.GAMMA, 1L);
+        assertThat(created.getByVehicleModel().get("Kona").getCount()).isEqualTo(2);
+        assertThat(created.getByVehicleModel().get("Kona").getAvgEngineTemp()).isEqualTo(100.0);
+        assertThat(created.getRpm().getAvg()).isEqualTo(2000.0);
+        assertThat(created.getMileage().getMin()).isEqualTo(5000L);
+        assertThat(created.getMileage().getMax()).isEqualTo(15000L);
+
+        ItemStatistics.Sample before = ItemStatistics.Sample.of(second);
+        statistics.recordUpdated(before, item(DiagnosticStatus.WARNING, "Tucson", EngineType.GAMMA, 2000, 100, 16000));
+
+        ItemStatsResponse updated = statistics.snapshot();
+        assertThat(updated.getTotal()).isEqualTo(2);
+        assertThat(updated.getByStatus()).containsEntry(DiagnosticStatus.CRITICAL, 0L).containsEntry(DiagnosticStatus.WARNING, 1L);
+        assertThat(updated.getByVehicleModel().get("Kona").getCount()).isEqualTo(1);
+        assertThat(updated.getByVehicleModel().get("Tucson").getAvgEngineTemp()).isEqualTo(100.0);
+        assertThat(updated.getRpm().getAvg()).isEqualTo(1500.0);
+        assertThat(updated.getEngineTemp().getAvg()).isEqualTo(90.0);
+
+        statistics.recordDeleted(ItemStatistics.Sample.of(first));
+
+        ItemStatsResponse deleted = statistics.snapshot();
+        assertThat(deleted.getTotal()).isEqualTo(1);
+        assertThat(deleted.getByStatus()).containsEntry(DiagnosticStatus.NORMAL, 0L);
+        assertThat(deleted.getByVehicleModel()).containsOnlyKeys("Tucson");
+        assertThat(deleted.getRpm().getCount()).isEqualTo(1);
+        assertThat(deleted.getRpm().getAvg()).isEqualTo(2000.0);
+    }
+
+    @Test
+    void removingABoundMarksItStaleUntilRefreshed() {
+        statistics.recordCreated(item(DiagnosticStatus.NORMAL, "Kona", EngineType.THETA, 1000, 80, 5000));
+        statistics.recordCreated(item(DiagnosticStatus.NORMAL, "Kona", EngineType.THETA, 4000, 90, 9000));
+        clearInvocations(itemRepository);
+        statistics.refreshStaleBounds();
+        verify(itemRepository, never()).aggregateRpm();
+
+        statistics.recordDeleted(new ItemStatistics.Sample(DiagnosticStatus.NORMAL, "Kona", EngineType.THETA, 4000, 90, 9000));
+        assertThat(statistics.snapshot().getRpm().getMax()).isEqualTo(4000L);
+
+        when(itemRepository.aggregateRpm()).thenReturn(new MetricAggregate(1L, 1000L, 1000, 1000));
+        when(itemRepository.aggregateEngineTemp()).thenReturn(new MetricAggregate(1L, 80L, 80, 80));
+        when(itemRepository.aggregateMileage()).thenReturn(new MetricAggregate(1L, 5000L, 5000, 5000));
+        statistics.refreshStaleBounds();
+
+        ItemStatsResponse.MetricStats rpm = statistics.snapshot().getRpm();
+        assertThat(rpm.getMin()).isEqualTo(1000L);
+        assertThat(rpm.getMax()).isEqualTo(1000L);
+        assertThat(rpm.getCount()).isEqualTo(1);
+        assertThat(statistics.snapshot().getMileage().getMax()).isEqualTo(5000L);
+    }
+
+    @Test
+    void rebuildWaitsForAnOpenWriteAndCountsItOnce() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            statistics.recordCreated(item(DiagnosticStatus.CRITICAL, "Kona", EngineType.THETA, 1000, 80, 5000));
+
+            CompletableFuture<Void> rebuild = CompletableFuture.runAsync(statistics::rebuild);
+            assertThatThrownBy(() -> rebuild.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            // The write commits and is applied; the rebuild then reads aggregates that include it
+            when(itemRepository.count()).thenReturn(1L);
+            when(itemRepository.countByStatus()).thenReturn(List.<Object[]>of(new Object[]{DiagnosticStatus.CRITICAL, 1L}));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            rebuild.get(5, TimeUnit.SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ItemStatsResponse stats = statistics.snapshot();
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getByStatus()).containsEntry(DiagnosticStatus.CRITICAL, 1L);
+    }
+
+    private static Item item(DiagnosticStatus status, String model, EngineType engineType, int rpm, int engineTemp, int mileage) {
+        return Item.builder()
+                .status(status)
+                .vehicleModel(model)
+                .engineType(engineType)
+                .rpm(rpm)
+                .engineTemp(engineTemp)
+                .mileage(mileage)
+                .build();
+    }
+}
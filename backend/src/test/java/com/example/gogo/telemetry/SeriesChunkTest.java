@@ -0,0 +1,101 @@
+package com.example.gogo.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeriesChunkTest {
+
+    @Test
+    void foldsReadingsIntoBucketAggregates() {
+        SeriesChunk chunk = new SeriesChunk();
+        chunk.add(100, 2000, 80);
+        chunk.add(100, 3000, null);
+        chunk.add(100, 1000, 90);
+
+        assertThat(buckets(chunk)).containsExactly(new Bucket(100, 3, 6000, 1000, 3000, 2, 170, 80, 90));
+    }
+
+    @Test
+    void keepsBucketsSortedWhenReadingsArriveOutOfOrder() {
+        SeriesChunk chunk = new SeriesChunk();
+        chunk.add(300, 1, 1);
+        chunk.add(100, 2, 2);
+        chunk.add(200, 3, 3);
+        chunk.add(100, 4, 4);
+
+        assertThat(buckets(chunk)).extracting(Bucket::bucket).containsExactly(100L, 200L, 300L);
+        assertThat(buckets(chunk).get(0).rpmSum()).isEqualTo(6);
+        assertThat(chunk.firstBucket()).isEqualTo(100);
+        assertThat(chunk.lastBucket()).isEqualTo(300);
+    }
+
+    @Test
+    void growsToCapacityAndThenOnlyTakesExistingBuckets() {
+        SeriesChunk chunk = new SeriesChunk();
+        for (int i = 0; i < SeriesChunk.CAPACITY; i++) {
+            assertThat(chunk.add(i, i, i)).isTrue();
+        }
+
+        assertThat(chunk.isFull()).isTrue();
+        assertThat(chunk.add(SeriesChunk.CAPACITY, 1, 1)).isFalse();
+        assertThat(chunk.add(7, 1, 1)).isTrue();
+        assertThat(buckets(chunk)).hasSize(SeriesChunk.CAPACITY);
+        assertThat(buckets(chunk).get(7).rpmCount()).isEqualTo(2);
+    }
+
+    @Test
+    void encodingRoundTripsEveryColumn() {
+        SeriesChunk chunk = new SeriesChunk();
+        for (int i = 0; i < 40; i++) {
+            chunk.add(1_700_000_000L + i * 60L, 1000 + i, i % 3 == 0 ? null : 70 + i);
+            chunk.add(1_700_000_000L + i * 60L, 900 - i, -5);
+        }
+
+        SeriesChunk decoded = SeriesChunk.decode(chunk.encode());
+
+        assertThat(decoded.size()).isEqualTo(chunk.size());
+        assertThat(buckets(decoded)).isEqualTo(buckets(chunk));
+        // A decoded chunk still grows when it is the open one
+        assertThat(decoded.add(1_800_000_000L, 1, 1)).isTrue();
+    }
+
+    @Test
+    void encodesAnEmptyChunk() {
+        SeriesChunk decoded = SeriesChunk.decode(new SeriesChunk().encode());
+
+        assertThat(decoded.size()).isZero();
+        assertThat(decoded.add(5, 1, 1)).isTrue();
+    }
+
+    @Test
+    void aggregatesOnlyTheRequestedRange() {
+        SeriesChunk chunk = new SeriesChunk();
+        for (long bucket = 0; bucket < 10; bucket++) {
+            chunk.add(bucket, 1, 1);
+        }
+
+        List<Bucket> visited = new ArrayList<>();
+        chunk.aggregate(3, 6, collect(visited));
+
+        assertThat(visited).extracting(Bucket::bucket).containsExactly(3L, 4L, 5L);
+    }
+
+    static List<Bucket> buckets(SeriesChunk chunk) {
+        List<Bucket> buckets = new ArrayList<>();
+        chunk.aggregate(Long.MIN_VALUE, Long.MAX_VALUE, collect(buckets));
+        return buckets;
+    }
+
+    static SeriesChunk.BucketVisitor collect(List<Bucket> buckets) {
+        return (bucket, rpmCount, rpmSum, rpmMin, rpmMax, tempCount, tempSum, tempMin, tempMax) ->
+                buckets.add(new Bucket(bucket, rpmCount, rpmSum, rpmMin, rpmMax, tempCount, tempSum, tempMin, tempMax));
+    }
+
+    record Bucket(long bucket, int rpmCount, long rpmSum, int rpmMin, int rpmMax,
+                  int tempCount, long tempSum, int tempMin, int tempMax) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.gogo.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelemetrySeriesTest {
+
+    // Aligned to an hour so minute and hour buckets are easy to read
+    private static final long T0 = 1_700_000_000L / 3600 * 3600;
+
+    private final TelemetrySeries series = new TelemetrySeries("KMHXX000000000001");
+
+    @Test
+    void coarserTiersAreADownsampleOfTheFinerOnes() {
+        for (int second = 0; second < 180; second++) {
+            assertThat(series.add(T0 + second, 1000 + second, 80 + second % 10)).isTrue();
+        }
+
+        List<SeriesChunkTest.Bucket> seconds = aggregate(Resolution.SECOND);
+        List<SeriesChunkTest.Bucket> minutes = aggregate(Resolution.MINUTE);
+        List<SeriesChunkTest.Bucket> hours = aggregate(Resolution.HOUR);
+
+        assertThat(seconds).hasSize(180);
+        assertThat(minutes).extracting(SeriesChunkTest.Bucket::bucket).containsExactly(T0, T0 + 60, T0 + 120);
+        assertThat(minutes.get(1).rpmCount()).isEqualTo(60);
+        assertThat(minutes.get(1).rpmMin()).isEqualTo(1060);
+        assertThat(minutes.get(1).rpmMax()).isEqualTo(1119);
+        assertThat(hours).hasSize(1);
+        assertThat(hours.get(0).rpmSum()).isEqualTo(seconds.stream().mapToLong(SeriesChunkTest.Bucket::rpmSum).sum());
+        assertThat(hours.get(0).tempSum()).isEqualTo(minutes.stream().mapToLong(SeriesChunkTest.Bucket::tempSum).sum());
+    }
+
+    @Test
+    void outOfOrderReadingsWithinTheOpenChunkAreMerged() {
+        series.add(T0 + 10, 1000, 80);
+        series.add(T0 + 5, 2000, 90);
+        series.add(T0 + 10, 3000, 70);
+
+        assertThat(aggregate(Resolution.SECOND)).extracting(SeriesChunkTest.Bucket::bucket).containsExactly(T0 + 5, T0 + 10);
+        assertThat(aggregate(Resolution.MINUTE).get(0).rpmCount()).isEqualTo(3);
+    }
+
+    @Test
+    void readingBeforeTheOpenChunkIsRejectedFromEveryTier() {
+        for (int second = 0; second <= SeriesChunk.CAPACITY; second++) {
+            series.add(T0 + second, 1000, 80);
+        }
+        long minuteCount = aggregate(Resolution.MINUTE).stream().mapToLong(SeriesChunkTest.Bucket::rpmCount).sum();
+
+        // The second tier rolled over to a new chunk starting at T0 + 512
+        assertThat(series.add(T0 + 100, 1000, 80)).isFalse();
+
+        assertThat(aggregate(Resolution.MINUTE).stream().mapToLong(SeriesChunkTest.Bucket::rpmCount).sum()).isEqualTo(minuteCount);
+        assertThat(aggregate(Resolution.HOUR).get(0).rpmCount()).isEqualTo(SeriesChunk.CAPACITY + 1);
+    }
+
+    @Test
+    void readingLateForACoarserTierIsNotRecordedInTheFinerOnes() {
+        // The open minute chunk starts later than the open second chunk, as after a restart
+        SeriesChunk seconds = new SeriesChunk();
+        seconds.add(T0, 1000, 80);
+        SeriesChunk minutes = new SeriesChunk();
+        minutes.add(T0 + 600, 1000, 80);
+        series.load(Resolution.SECOND, seconds);
+        series.load(Resolution.MINUTE, minutes);
+
+        assertThat(series.add(T0 + 30, 1000, 80)).isFalse();
+
+        assertThat(aggregate(Resolution.SECOND)).extracting(SeriesChunkTest.Bucket::bucket).containsExactly(T0);
+        assertThat(aggregate(Resolution.HOUR)).isEmpty();
+    }
+
+    @Test
+    void evictsOnlyPersistedClosedChunks() {
+        for (int second = 0; second < SeriesChunk.CAPACITY + 10; second++) {
+            series.add(T0 + second, 1000, 80);
+        }
+        List<TelemetrySeries.PendingChunk> pending = series.drainDirty();
+        long id = 1;
+        for (TelemetrySeries.PendingChunk chunk : pending) {
+            series.flushed(chunk.chunk(), id++);
+        }
+        series.add(T0 + SeriesChunk.CAPACITY + 20, 1000, 80);
+
+        series.evict(Long.MAX_VALUE);
+
+        // The full second chunk went; the open chunks of every tier stayed
+        long residentFrom = series.aggregate(Resolution.SECOND, Long.MIN_VALUE, Long.MAX_VALUE, (bucket, a, b, c, d, e, f, g, h) -> {
+        });
+        assertThat(residentFrom).isEqualTo(T0 + SeriesChunk.CAPACITY);
+        assertThat(aggregate(Resolution.MINUTE)).isNotEmpty();
+        assertThat(aggregate(Resolution.HOUR)).isNotEmpty();
+    }
+
+    private List<SeriesChunkTest.Bucket> aggregate(Resolution resolution) {
+        List<SeriesChunkTest.Bucket> buckets = new ArrayList<>();
+        series.aggregate(resolution, Long.MIN_VALUE, Long.MAX_VALUE, SeriesChunkTest.collect(buckets));
+        return buckets;
+    }
+}
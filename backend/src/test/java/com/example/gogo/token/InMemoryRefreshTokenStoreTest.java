@@ -0,0 +1,153 @@
+package com.example.gogo.token;
+
+import com.example.gogo.dto.UserDto;
+import com.example.gogo.security.TokenHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryRefreshTokenStoreTest {
+
+    private static final UserDto USER = UserDto.builder().id(1L).username("test").email("te|st@example.com").build();
+
+    @TempDir
+    Path directory;
+
+    private final List<InMemoryRefreshTokenStore> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeStores() throws IOException {
+        for (InMemoryRefreshTokenStore store : opened) {
+            store.close();
+        }
+    }
+
+    @Test
+    void replayRestoresIssuedAndRevokedTokens() throws IOException {
+        InMemoryRefreshTokenStore first = open(Duration.ofHours(1), 1_000_000);
+        String a = first.issue(USER, "family-1");
+        String b = first.issue(USER, "family-1");
+        String c = first.issue(USER, "family-2");
+        String d = first.issue(USER, "family-3");
+        first.revoke(TokenHasher.sha256(c));
+        first.revokeFamily("family-1");
+        first.close();
+        opened.remove(first);
+
+        InMemoryRefreshTokenStore second = open(Duration.ofHours(1), 1_000_000);
+
+        assertThat(second.size()).isEqualTo(4);
+        assertThat(second.find(a).orElseThrow().revoked()).isTrue();
+        assertThat(second.find(b).orElseThrow().revoked()).isTrue();
+        assertThat(second.find(c).orElseThrow().revoked()).isTrue();
+        assertThat(second.find(d).orElseThrow().revoked()).isFalse();
+        // Revoked tokens are only kept for the retention window, not their full lifetime
+        assertThat(second.find(c).orElseThrow().expiresAt()).isBefore(LocalDateTime.now().plusHours(2));
+        assertThat(second.find(d).orElseThrow().expiresAt()).isAfter(LocalDateTime.now().plusDays(6));
+        assertThat(second.find(d).orElseThrow().username()).isEqualTo("test");
+        assertThat(second.find(d).orElseThrow().email()).isEqualTo("te|st@example.com");
+    }
+
+    @Test
+    void revokedTokensAreSweptAfterTheRetentionWindow() throws IOException {
+        InMemoryRefreshTokenStore store = open(Duration.ZERO, 1_000_000);
+        String revoked = store.issue(USER, "family-1");
+        String live = store.issue(USER, "family-2");
+        store.revokeFamily("family-1");
+
+        store.evictExpired();
+
+        assertThat(store.find(revoked)).isEmpty();
+        assertThat(store.find(live)).isPresent();
+    }
+
+    @Test
+    void startupCompactsTheJournalAndSkipsUnreadableLines() throws IOException {
+        long future = LocalDateTime.now().plusDays(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long past = LocalDateTime.now().minusDays(1).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String live = TokenHasher.sha256("live-token");
+        Files.write(journalPath(), List.of(
+                "I|" + live + "|family-1|1|" + future + "|0|test",
+                "I|" + TokenHasher.sha256("expired-token") + "|family-2|1|" + past + "|0|test",
+                "R|" + live,
+                "I|torn|fam"));
+
+        InMemoryRefreshTokenStore store = open(Duration.ofHours(1), 1_000_000);
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.find("live-token").orElseThrow().revoked()).isTrue();
+        List<String> lines = Files.readAllLines(journalPath());
+        assertThat(lines).hasSize(1);
+        // Records of the older form are rewritten in the current one, with no email to carry over
+        assertThat(lines.get(0)).startsWith("U|" + live + "|family-1|1|").endsWith("|1||test");
+    }
+
+    @Test
+    void compactionRewritesTheJournalFromTheLiveSet() throws Exception {
+        InMemoryRefreshTokenStore store = open(Duration.ofHours(1), 3);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(store.issue(USER, "family-" + i));
+        }
+        store.revoke(TokenHasher.sha256(tokens.get(0)));
+        awaitTrue(() -> journalLines().size() == 6);
+
+        // The sweep requests compaction once the writer has counted the appended records
+        awaitTrue(() -> {
+            store.evictExpired();
+            return journalLines().size() == 5 && journalLines().stream().allMatch(line -> line.startsWith("U|"));
+        });
+    }
+
+    @Test
+    void aSecondStoreOnTheSameJournalFailsFast() throws IOException {
+        open(Duration.ofHours(1), 1_000_000);
+        InMemoryRefreshTokenStore second = new InMemoryRefreshTokenStore(Duration.ofDays(7), Duration.ofHours(1),
+                journalPath(), 16, 5, 1_000_000);
+
+        assertThatThrownBy(second::recover)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("single instance");
+    }
+
+    private InMemoryRefreshTokenStore open(Duration revokedRetention, long compactionThreshold) throws IOException {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(Duration.ofDays(7), revokedRetention,
+                journalPath(), 16, 5, compactionThreshold);
+        store.recover();
+        opened.add(store);
+        return store;
+    }
+
+    private Path journalPath() {
+        return directory.resolve("refresh-tokens.journal");
+    }
+
+    private List<String> journalLines() {
+        try {
+            return Files.readAllLines(journalPath());
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
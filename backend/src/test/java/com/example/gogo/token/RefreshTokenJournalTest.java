@@ -0,0 +1,75 @@
+package com.example.gogo.token;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.gogo.token.InMemoryRefreshTokenStoreTest.awaitTrue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedRecordsAreReplayed() throws Exception {
+        Path path = directory.resolve("journal");
+        List<String> live = new CopyOnWriteArrayList<>();
+        try (RefreshTokenJournal journal = new RefreshTokenJournal(path, 16, 5, () -> live)) {
+            journal.lock();
+            journal.start();
+            journal.append("I|a");
+            journal.append("R|a");
+        }
+
+        try (RefreshTokenJournal journal = new RefreshTokenJournal(path, 16, 5, () -> live)) {
+            journal.lock();
+            assertThat(journal.replay()).containsExactly("I|a", "R|a");
+        }
+    }
+
+    @Test
+    void aFailedWriteIsRecoveredFromTheSnapshot() throws Exception {
+        Path path = directory.resolve("journal");
+        List<String> live = new CopyOnWriteArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+        try (RefreshTokenJournal journal = new RefreshTokenJournal(path, 16, 5, () -> live) {
+            @Override
+            void write(FileChannel target, Collection<String> records) throws IOException {
+                if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                    throw new IOException("No space left on device");
+                }
+                super.write(target, records);
+            }
+        }) {
+            journal.lock();
+            journal.start();
+            failures.set(1);
+
+            // The store applies a change in memory before journaling it, so the snapshot already holds it
+            live.add("I|a");
+            journal.append("I|a");
+            live.add("I|b");
+            journal.append("I|b");
+
+            awaitTrue(() -> failures.get() == 0 && lines(path).containsAll(List.of("I|a", "I|b")));
+        }
+    }
+
+    private static List<String> lines(Path path) {
+        try {
+            return Files.readAllLines(path);
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+}
@@ -3,6 +3,7 @@ export enum EngineType {
   ATKINSON = 'ATKINSON',
   GAMMA = 'GAMMA',
   SMARTSTREAM = 'SMARTSTREAM',
+  ELECTRIC = 'ELECTRIC',
 }
 
 export enum DiagnosticStatus {